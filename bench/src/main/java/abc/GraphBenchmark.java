@@ -0,0 +1,134 @@
+package abc;
+
+/*
+ *GraphBenchmark class
+ *
+ * JMH benchmarks of the Graph hot paths on the synthetic networks of
+ * RoadNetworkGenerator at 1k, 100k and 1M roads. Lookups cycle through a
+ * fixed list of random town pairs, half of them joined by a road and half
+ * not, so hits and misses are both measured. Run with JSON output, for
+ * example -rf json -rff graph.json, to compare results across commits.
+ *
+ */
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphBenchmark {
+
+	//lookups cycle through this many pairs, a power of two
+	private static final int PAIRS = 1 << 12;
+	//roads in one traffic feed applied by updateWeights
+	private static final int FEED = 1 << 14;
+
+	@Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+	public RoadNetworkGenerator.Network network;
+
+	@Param({"1000", "100000", "1000000"})
+	public int roads;
+
+	private RoadBatch batch;
+	private Graph graph;
+	private Town[] sources;
+	private Town[] destinations;
+	private int next;
+	//two feeds are applied in turn so every update changes a weight
+	private WeightBatch[] feeds;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		batch = RoadNetworkGenerator.generate(network, roads, 42);
+		graph = new Graph();
+		graph.addEdges(batch);
+		Random random = new Random(7);
+		Town[] towns = graph.vertexSet().toArray(new Town[0]);
+		sources = new Town[PAIRS];
+		destinations = new Town[PAIRS];
+		for(int i = 0; i < PAIRS; i++) {
+			if(i % 2 == 0) {
+				int road = random.nextInt(batch.size());
+				sources[i] = batch.getSource(road);
+				destinations[i] = batch.getDestination(road);
+			}
+			else {
+				sources[i] = towns[random.nextInt(towns.length)];
+				destinations[i] = towns[random.nextInt(towns.length)];
+			}
+		}
+		feeds = new WeightBatch[2];
+		for(int f = 0; f < feeds.length; f++) {
+			feeds[f] = new WeightBatch(FEED);
+		}
+		for(int i = 0; i < FEED; i++) {
+			int road = random.nextInt(batch.size());
+			int weight = batch.getWeight(road);
+			for(int f = 0; f < feeds.length; f++) {
+				feeds[f].add(batch.getSource(road), batch.getDestination(road), weight + f + 1, batch.getName(road));
+			}
+		}
+	}
+
+	//builds the graph one addVertex/addEdge call at a time; time is per road
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 2)
+	@Measurement(iterations = 5)
+	public Graph addEdge() {
+		Graph built = new Graph();
+		for(int i = 0; i < batch.size(); i++) {
+			Town source = new Town(batch.getSource(i));
+			Town destination = new Town(batch.getDestination(i));
+			built.addVertex(source);
+			built.addVertex(destination);
+			built.addEdge(source, destination, batch.getWeight(i), batch.getName(i));
+		}
+		return built;
+	}
+
+	@Benchmark
+	public boolean containsEdge() {
+		int i = next++ & (PAIRS - 1);
+		return graph.containsEdge(sources[i], destinations[i]);
+	}
+
+	@Benchmark
+	public Road getEdge() {
+		int i = next++ & (PAIRS - 1);
+		return graph.getEdge(sources[i], destinations[i]);
+	}
+
+	//applies one traffic feed of FEED new weights; time is per feed
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public int updateWeights() {
+		return graph.updateWeights(feeds[next++ & 1]);
+	}
+
+	@Benchmark
+	public Set<Road> edgesOf() {
+		int i = next++ & (PAIRS - 1);
+		return graph.edgesOf(sources[i]);
+	}
+
+}
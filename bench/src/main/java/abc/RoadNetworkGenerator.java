@@ -0,0 +1,193 @@
+package abc;
+
+/*
+ *RoadNetworkGenerator class
+ *
+ * Synthetic road networks for benchmarks, each with about the requested
+ * number of roads and the same output for the same seed:
+ *
+ *   GRID        square grid of towns, each joined to its right and lower
+ *               neighbour, like a city street plan
+ *   GEOMETRIC   towns scattered in a square, joined to every town within a
+ *               radius chosen for an average of six roads per town
+ *   SCALE_FREE  Barabasi-Albert preferential attachment, each new town
+ *               joined to three existing towns picked by their number of
+ *               roads, giving a few very busy hubs
+ *
+ * Grid and geometric towns have coordinates and road weights close to
+ * their straight-line distance, so A* heuristics are admissible on them.
+ *
+ */
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+public class RoadNetworkGenerator {
+
+	public enum Network { GRID, GEOMETRIC, SCALE_FREE }
+
+	//average roads per town of the geometric network
+	private static final double GEOMETRIC_DEGREE = 6;
+	//roads added with each town of the scale-free network
+	private static final int SCALE_FREE_LINKS = 3;
+	//miles between neighbouring grid towns and across the geometric square
+	private static final int GRID_SPACING = 10;
+	private static final int GEOMETRIC_SIZE = 10000;
+
+	private RoadNetworkGenerator() {
+	}
+
+	/**
+	 * Generates a network.
+	 * @param network shape of the network
+	 * @param roads about how many roads it should have
+	 * @param seed seed of the random weights and positions
+	 * @return the roads, with their towns
+	 */
+	public static RoadBatch generate(Network network, int roads, long seed) {
+		switch(network) {
+		case GRID:
+			return grid(roads, seed);
+		case GEOMETRIC:
+			return geometric(roads, seed);
+		default:
+			return scaleFree(roads, seed);
+		}
+	}
+
+	//k by k grid, which has 2k(k - 1) roads
+	public static RoadBatch grid(int roads, long seed) {
+		int k = Math.max(2, (int) Math.round((1 + Math.sqrt(1 + 2.0 * roads)) / 2));
+		Random random = new Random(seed);
+		Town[] towns = new Town[k * k];
+		for(int r = 0; r < k; r++) {
+			for(int c = 0; c < k; c++) {
+				towns[r * k + c] = new Town("Town_" + (r * k + c), c * GRID_SPACING, r * GRID_SPACING);
+			}
+		}
+		RoadBatch batch = new RoadBatch(2 * k * (k - 1));
+		for(int r = 0; r < k; r++) {
+			for(int c = 0; c < k; c++) {
+				if(c + 1 < k)
+					batch.add(towns[r * k + c], towns[r * k + c + 1], GRID_SPACING + random.nextInt(GRID_SPACING), "Road_" + batch.size());
+				if(r + 1 < k)
+					batch.add(towns[r * k + c], towns[(r + 1) * k + c], GRID_SPACING + random.nextInt(GRID_SPACING), "Road_" + batch.size());
+			}
+		}
+		return batch;
+	}
+
+	//random geometric graph, pairs within the radius found through a grid of cells one radius wide
+	public static RoadBatch geometric(int roads, long seed) {
+		int n = Math.max(2, (int) (2 * roads / GEOMETRIC_DEGREE));
+		double radius = GEOMETRIC_SIZE * Math.sqrt(GEOMETRIC_DEGREE / (Math.PI * n));
+		Random random = new Random(seed);
+		Town[] towns = new Town[n];
+		int cells = Math.max(1, (int) (GEOMETRIC_SIZE / radius));
+		ArrayList<ArrayList<Integer>> cellTowns = new ArrayList<ArrayList<Integer>>(cells * cells);
+		for(int i = 0; i < cells * cells; i++) {
+			cellTowns.add(new ArrayList<Integer>());
+		}
+		for(int i = 0; i < n; i++) {
+			towns[i] = new Town("Town_" + i, random.nextDouble() * GEOMETRIC_SIZE, random.nextDouble() * GEOMETRIC_SIZE);
+			cellTowns.get(cellOf(towns[i].getY(), cells) * cells + cellOf(towns[i].getX(), cells)).add(i);
+		}
+		RoadBatch batch = new RoadBatch(roads);
+		for(int i = 0; i < n; i++) {
+			int row = cellOf(towns[i].getY(), cells);
+			int column = cellOf(towns[i].getX(), cells);
+			for(int r = Math.max(0, row - 1); r <= Math.min(cells - 1, row + 1); r++) {
+				for(int c = Math.max(0, column - 1); c <= Math.min(cells - 1, column + 1); c++) {
+					for(int j : cellTowns.get(r * cells + c)) {
+						if(j <= i)
+							continue;
+						double distance = Math.hypot(towns[i].getX() - towns[j].getX(), towns[i].getY() - towns[j].getY());
+						if(distance <= radius)
+							batch.add(towns[i], towns[j], (int) Math.ceil(distance) + 1, "Road_" + batch.size());
+					}
+				}
+			}
+		}
+		return batch;
+	}
+
+	private static int cellOf(double position, int cells) {
+		return Math.min(cells - 1, (int) (position * cells / GEOMETRIC_SIZE));
+	}
+
+	//Barabasi-Albert graph: each town's chance of a new road grows with the roads it has
+	public static RoadBatch scaleFree(int roads, long seed) {
+		int n = Math.max(SCALE_FREE_LINKS + 1, roads / SCALE_FREE_LINKS + 1);
+		Random random = new Random(seed);
+		Town[] towns = new Town[n];
+		for(int i = 0; i < n; i++) {
+			towns[i] = new Town("Town_" + i);
+		}
+		RoadBatch batch = new RoadBatch(roads);
+		//every road end, so a uniform pick from it is a pick weighted by roads
+		int[] ends = new int[2 * (SCALE_FREE_LINKS * n + SCALE_FREE_LINKS)];
+		int endCount = 0;
+		for(int i = 0; i <= SCALE_FREE_LINKS; i++) {
+			for(int j = 0; j < i; j++) {
+				batch.add(towns[i], towns[j], 1 + random.nextInt(100), "Road_" + batch.size());
+				ends[endCount++] = i;
+				ends[endCount++] = j;
+			}
+		}
+		HashSet<Integer> picked = new HashSet<Integer>();
+		for(int i = SCALE_FREE_LINKS + 1; i < n && batch.size() < roads; i++) {
+			picked.clear();
+			while(picked.size() < SCALE_FREE_LINKS) {
+				picked.add(ends[random.nextInt(endCount)]);
+			}
+			for(int j : picked) {
+				batch.add(towns[i], towns[j], 1 + random.nextInt(100), "Road_" + batch.size());
+				ends[endCount++] = i;
+				ends[endCount++] = j;
+			}
+		}
+		return batch;
+	}
+
+	/**
+	 * Writes the roads in the road,distance;town1;town2;x1:y1;x2:y2 format
+	 * read by populateTownGraph.
+	 * @param batch roads to write
+	 * @param file file to write, replaced if it exists
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(RoadBatch batch, File file) throws IOException {
+		try(Writer out = new BufferedWriter(new FileWriter(file), 1 << 16)) {
+			for(int i = 0; i < batch.size(); i++) {
+				Town source = batch.getSource(i);
+				Town destination = batch.getDestination(i);
+				out.write(batch.getName(i));
+				out.write(',');
+				out.write(Integer.toString(batch.getWeight(i)));
+				out.write(';');
+				out.write(source.getName());
+				out.write(';');
+				out.write(destination.getName());
+				if(source.hasCoordinates() || destination.hasCoordinates()) {
+					out.write(';');
+					writeCoordinates(out, source);
+					out.write(';');
+					writeCoordinates(out, destination);
+				}
+				out.write('\n');
+			}
+		}
+	}
+
+	private static void writeCoordinates(Writer out, Town town) throws IOException {
+		if(town.hasCoordinates())
+			out.write(town.getX() + ":" + town.getY());
+	}
+
+}
@@ -0,0 +1,80 @@
+package abc;
+
+/*
+ *RoutingBenchmark class
+ *
+ * JMH benchmark of Graph.shortestPath with every routing algorithm on the
+ * synthetic networks of RoadNetworkGenerator. Queries cycle through a
+ * fixed list of random town pairs. Preprocessing for Contraction
+ * Hierarchies and ALT happens in setup and is not measured.
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutingBenchmark {
+
+	private static final int PAIRS = 1 << 10;
+
+	@Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+	public RoadNetworkGenerator.Network network;
+
+	@Param({"1000", "100000", "1000000"})
+	public int roads;
+
+	@Param({"DIJKSTRA", "BIDIRECTIONAL_DIJKSTRA", "A_STAR", "CONTRACTION_HIERARCHY", "ALT"})
+	public RoutingAlgorithm algorithm;
+
+	private Graph graph;
+	private Town[] sources;
+	private Town[] destinations;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		graph = new Graph();
+		graph.addEdges(RoadNetworkGenerator.generate(network, roads, 42));
+		graph.setRoutingAlgorithm(algorithm);
+		graph.setHeuristic(Heuristic.euclidean(1.0));
+		if(algorithm == RoutingAlgorithm.CONTRACTION_HIERARCHY)
+			graph.contractionHierarchy();
+		if(algorithm == RoutingAlgorithm.ALT)
+			graph.landmarkTable();
+		Town[] towns = graph.vertexSet().toArray(new Town[0]);
+		Random random = new Random(7);
+		sources = new Town[PAIRS];
+		destinations = new Town[PAIRS];
+		for(int i = 0; i < PAIRS; i++) {
+			sources[i] = towns[random.nextInt(towns.length)];
+			destinations[i] = towns[random.nextInt(towns.length)];
+		}
+	}
+
+	@Benchmark
+	public ArrayList<String> shortestPath() {
+		int i = next++ & (PAIRS - 1);
+		return graph.shortestPath(sources[i], destinations[i]);
+	}
+
+}
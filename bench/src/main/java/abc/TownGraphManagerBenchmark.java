@@ -0,0 +1,79 @@
+package abc;
+
+/*
+ *TownGraphManagerBenchmark class
+ *
+ * JMH benchmarks of the TownGraphManager calls that touch the whole graph:
+ * importing a road file with populateTownGraph and listing every town and
+ * road with allTowns and allRoads, on the synthetic networks of
+ * RoadNetworkGenerator.
+ *
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TownGraphManagerBenchmark {
+
+	@Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+	public RoadNetworkGenerator.Network network;
+
+	@Param({"1000", "100000", "1000000"})
+	public int roads;
+
+	private File file;
+	private TownGraphManager manager;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		file = File.createTempFile("roads", ".txt");
+		RoadNetworkGenerator.write(RoadNetworkGenerator.generate(network, roads, 42), file);
+		manager = new TownGraphManager();
+		manager.populateTownGraph(file);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Benchmark
+	public TownGraphManager populateTownGraph() throws IOException {
+		TownGraphManager imported = new TownGraphManager();
+		imported.populateTownGraph(file);
+		return imported;
+	}
+
+	@Benchmark
+	public ArrayList<String> allTowns() {
+		return manager.allTowns();
+	}
+
+	@Benchmark
+	public ArrayList<String> allRoads() {
+		return manager.allRoads();
+	}
+
+}
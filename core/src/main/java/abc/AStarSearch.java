@@ -0,0 +1,78 @@
+package abc;
+
+/*
+ *AStarSearch class
+ *
+ * Point-to-point A* search over a snapshot. Towns are taken from the heap
+ * in order of distance so far plus the heuristic's estimate of the
+ * distance left, so with a good heuristic the search heads straight for
+ * the destination and stops as soon as it is taken from the heap.
+ *
+ */
+
+import java.util.ArrayList;
+
+public class AStarSearch {
+
+	private final GraphSnapshot graph;
+	private final Heuristic heuristic;
+	private int settledCount;
+
+	public AStarSearch(GraphSnapshot graph, Heuristic heuristic) {
+		if(heuristic == null)
+			throw new NullPointerException();
+		this.graph = graph;
+		this.heuristic = heuristic;
+	}
+
+	//returns how many towns the last search took from the heap
+	public int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * Find the shortest path from the sourceVertex to the destinationVertex.
+	 * @param sourceVertex starting vertex
+	 * @param destinationVertex ending vertex
+	 * @return the path in "X via R to Y N mi" form, or null if either town is
+	 * missing or there is no path
+	 */
+	public ArrayList<String> shortestPath(Town sourceVertex, Town destinationVertex) {
+		int source = graph.idOf(sourceVertex);
+		int destination = graph.idOf(destinationVertex);
+		settledCount = 0;
+		if(source == -1 || destination == -1)
+			return null;
+
+		QueryWorkspace workspace = QueryWorkspace.acquire(graph.idCount());
+		try {
+			QueryWorkspace.SearchSpace space = workspace.forward;
+			IndexedMinHeap heap = space.heap;
+			space.reach(source, 0, -1, -1);
+			heap.insertOrDecrease(source, heuristic.estimate(graph, source, destination));
+			while(!heap.isEmpty()) {
+				int current = heap.poll();
+				settledCount++;
+				if(current == destination)
+					break;
+				//a town may be taken again if an inconsistent estimate let a shorter path arrive late
+				long currentDistance = space.distance(current);
+				workspace.relaxed += graph.endArc(current) - graph.firstArc(current);
+				for(int arc = graph.firstArc(current); arc < graph.endArc(current); arc++) {
+					int next = graph.arcTarget(arc);
+					long candidate = currentDistance + graph.arcWeight(arc);
+					if(candidate < space.distance(next)) {
+						space.reach(next, candidate, arc, current);
+						heap.insertOrDecrease(next, candidate + heuristic.estimate(graph, next, destination));
+					}
+				}
+			}
+			return graph.describePath(destination, space);
+		}
+		finally {
+			workspace.settled = settledCount;
+			workspace.release();
+		}
+	}
+
+}
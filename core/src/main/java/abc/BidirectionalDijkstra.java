@@ -0,0 +1,139 @@
+package abc;
+
+/*
+ *BidirectionalDijkstra class
+ *
+ * Point-to-point search that grows one Dijkstra tree forward from the
+ * source over out-arcs and one backward from the destination over
+ * in-arcs, always expanding the side whose next town is closer. It stops
+ * once the two smallest tentative distances add up to at least the best
+ * source-to-destination distance seen, which happens long before either
+ * side has settled the whole graph.
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class BidirectionalDijkstra {
+
+	private static final long UNREACHABLE = GraphSnapshot.UNREACHABLE;
+
+	private final GraphSnapshot graph;
+	private int settledCount;
+
+	public BidirectionalDijkstra(GraphSnapshot graph) {
+		this.graph = graph;
+	}
+
+	//returns how many towns the last search settled on both sides together
+	public int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * Find the shortest path from the sourceVertex to the destinationVertex.
+	 * @param sourceVertex starting vertex
+	 * @param destinationVertex ending vertex
+	 * @return the path in "X via R to Y N mi" form, or null if either town is
+	 * missing or there is no path
+	 */
+	public ArrayList<String> shortestPath(Town sourceVertex, Town destinationVertex) {
+		int source = graph.idOf(sourceVertex);
+		int destination = graph.idOf(destinationVertex);
+		settledCount = 0;
+		if(source == -1 || destination == -1)
+			return null;
+		if(source == destination) {
+			QueryWorkspace.clearCounts();
+			return new ArrayList<String>();
+		}
+
+		QueryWorkspace workspace = QueryWorkspace.acquire(graph.idCount());
+		try {
+			return search(source, destination, workspace);
+		}
+		finally {
+			workspace.settled = settledCount;
+			workspace.release();
+		}
+	}
+
+	//forward arcs lead into each town from its parent, backward in-arcs lead from it toward the destination
+	private ArrayList<String> search(int source, int destination, QueryWorkspace workspace) {
+		QueryWorkspace.SearchSpace forwardSpace = workspace.forward;
+		QueryWorkspace.SearchSpace backwardSpace = workspace.backward;
+		IndexedMinHeap forward = forwardSpace.heap;
+		IndexedMinHeap backward = backwardSpace.heap;
+		forwardSpace.reach(source, 0, -1, -1);
+		backwardSpace.reach(destination, 0, -1, -1);
+		forward.insertOrDecrease(source, 0);
+		backward.insertOrDecrease(destination, 0);
+
+		long best = UNREACHABLE;
+		int meeting = -1;
+		while(!forward.isEmpty() && !backward.isEmpty()) {
+			long forwardMin = forward.keyOf(forward.peek());
+			long backwardMin = backward.keyOf(backward.peek());
+			if(best != UNREACHABLE && forwardMin + backwardMin >= best)
+				break;
+			settledCount++;
+			if(forwardMin <= backwardMin) {
+				int current = forward.poll();
+				long currentDistance = forwardSpace.distance(current);
+				workspace.relaxed += graph.endArc(current) - graph.firstArc(current);
+				for(int arc = graph.firstArc(current); arc < graph.endArc(current); arc++) {
+					int next = graph.arcTarget(arc);
+					long candidate = currentDistance + graph.arcWeight(arc);
+					if(candidate < forwardSpace.distance(next)) {
+						forwardSpace.reach(next, candidate, arc, current);
+						forward.insertOrDecrease(next, candidate);
+						long other = backwardSpace.distance(next);
+						if(other != UNREACHABLE && candidate + other < best) {
+							best = candidate + other;
+							meeting = next;
+						}
+					}
+				}
+			}
+			else {
+				int current = backward.poll();
+				long currentDistance = backwardSpace.distance(current);
+				workspace.relaxed += graph.endInArc(current) - graph.firstInArc(current);
+				for(int arc = graph.firstInArc(current); arc < graph.endInArc(current); arc++) {
+					int previous = graph.inArcSource(arc);
+					long candidate = currentDistance + graph.inArcWeight(arc);
+					if(candidate < backwardSpace.distance(previous)) {
+						backwardSpace.reach(previous, candidate, arc, current);
+						backward.insertOrDecrease(previous, candidate);
+						long other = forwardSpace.distance(previous);
+						if(other != UNREACHABLE && candidate + other < best) {
+							best = candidate + other;
+							meeting = previous;
+						}
+					}
+				}
+			}
+		}
+		if(meeting == -1)
+			return null;
+
+		int hops = 0;
+		for(int current = meeting; forwardSpace.parent(current) != -1; current = forwardSpace.parent(current)) {
+			hops++;
+		}
+		for(int current = meeting; backwardSpace.parent(current) != -1; current = backwardSpace.parent(current)) {
+			hops++;
+		}
+		ArrayList<String> path = new ArrayList<String>(hops);
+		for(int current = meeting; forwardSpace.parent(current) != -1; current = forwardSpace.parent(current)) {
+			path.add(graph.describeArc(forwardSpace.parent(current), forwardSpace.arc(current)));
+		}
+		Collections.reverse(path);
+		for(int current = meeting; backwardSpace.parent(current) != -1; current = backwardSpace.parent(current)) {
+			path.add(graph.describeInArc(backwardSpace.parent(current), backwardSpace.arc(current)));
+		}
+		return path;
+	}
+
+}
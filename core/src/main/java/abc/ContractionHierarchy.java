@@ -0,0 +1,487 @@
+package abc;
+
+/*
+ *ContractionHierarchy class
+ *
+ * Contraction Hierarchy built from a snapshot. Preprocessing contracts the
+ * towns one at a time, cheapest first by edge difference, and adds a
+ * shortcut u->x around a contracted town v whenever u->v->x is the only
+ * shortest way from u to x among the towns still left. The order towns
+ * were contracted in is their rank.
+ *
+ * A query is a bidirectional Dijkstra that only ever moves to towns of
+ * higher rank: forward from the source over upward edges, backward from
+ * the destination over edges coming down into it. Both searches stay
+ * tiny, and the shortcuts on the path found are unpacked back into the
+ * original roads. Queries keep no state in the hierarchy and may run on
+ * several threads at once.
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class ContractionHierarchy {
+
+	private static final long UNREACHABLE = GraphSnapshot.UNREACHABLE;
+	//towns a witness search may settle before giving up and keeping the shortcut
+	private static final int WITNESS_SETTLE_LIMIT = 500;
+	//smaller limit for the searches that only estimate a town's priority
+	private static final int PRIORITY_SETTLE_LIMIT = 40;
+
+	private final GraphSnapshot graph;
+	private final int n;
+	private final int[] rank;
+
+	//every edge of the hierarchy; an original edge has second == -1 and its
+	//snapshot arc in first, a shortcut has the two edges it replaces
+	private int edgeCount;
+	private int[] edgeFrom = new int[16];
+	private int[] edgeTo = new int[16];
+	private long[] edgeWeight = new long[16];
+	private int[] edgeFirst = new int[16];
+	private int[] edgeSecond = new int[16];
+
+	//edges leaving each town toward higher rank
+	private int[] upOffsets;
+	private int[] upEdges;
+	//edges entering each town from higher rank
+	private int[] downOffsets;
+	private int[] downEdges;
+
+	//queries keep their state in the caller's QueryWorkspace, so any number can run at once
+	private volatile int settledCount;
+
+	/**
+	 * Preprocesses the snapshot.
+	 * @param graph snapshot to build the hierarchy for
+	 */
+	public ContractionHierarchy(GraphSnapshot graph) {
+		this.graph = graph;
+		n = graph.idCount();
+		rank = new int[n];
+		for(int u = 0; u < n; u++) {
+			for(int arc = graph.firstArc(u); arc < graph.endArc(u); arc++) {
+				if(graph.arcTarget(arc) != u)
+					addEdge(u, graph.arcTarget(arc), graph.arcWeight(arc), arc, -1);
+			}
+		}
+		contract();
+		buildSearchGraphs();
+	}
+
+	//returns the snapshot the hierarchy was built for
+	public GraphSnapshot getGraph() {
+		return graph;
+	}
+
+	//returns number of shortcuts added by preprocessing
+	public int getShortcutCount() {
+		int shortcuts = 0;
+		for(int e = 0; e < edgeCount; e++) {
+			if(edgeSecond[e] != -1)
+				shortcuts++;
+		}
+		return shortcuts;
+	}
+
+	//returns the contraction rank of a dense id
+	public int rankOf(int id) {
+		return rank[id];
+	}
+
+	//returns how many towns the most recent query settled on both sides together
+	public int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * Find the shortest path from the sourceVertex to the destinationVertex.
+	 * @param sourceVertex starting vertex
+	 * @param destinationVertex ending vertex
+	 * @return the path in "X via R to Y N mi" form, made of original roads
+	 * only, or null if either town is missing or there is no path
+	 */
+	public ArrayList<String> shortestPath(Town sourceVertex, Town destinationVertex) {
+		int source = graph.idOf(sourceVertex);
+		int destination = graph.idOf(destinationVertex);
+		if(source == -1 || destination == -1)
+			return null;
+		if(source == destination) {
+			QueryWorkspace.clearCounts();
+			return new ArrayList<String>();
+		}
+
+		QueryWorkspace workspace = QueryWorkspace.acquire(n);
+		try {
+			QueryWorkspace.SearchSpace forwardSpace = workspace.forward;
+			QueryWorkspace.SearchSpace backwardSpace = workspace.backward;
+			int meeting = search(source, destination, workspace);
+			if(meeting == -1)
+				return null;
+			IntList edges = workspace.edges;
+			for(int current = meeting; current != source; current = forwardSpace.parent(current)) {
+				edges.add(forwardSpace.arc(current));
+			}
+			edges.reverse();
+			for(int current = meeting; current != destination; current = backwardSpace.parent(current)) {
+				edges.add(backwardSpace.arc(current));
+			}
+			return unpack(edges, workspace.stack);
+		}
+		finally {
+			workspace.release();
+		}
+	}
+
+	//runs both upward searches and returns the best meeting town, or -1
+	private int search(int source, int destination, QueryWorkspace workspace) {
+		QueryWorkspace.SearchSpace forwardSpace = workspace.forward;
+		QueryWorkspace.SearchSpace backwardSpace = workspace.backward;
+		IndexedMinHeap forward = forwardSpace.heap;
+		IndexedMinHeap backward = backwardSpace.heap;
+		forwardSpace.reach(source, 0, -1, -1);
+		backwardSpace.reach(destination, 0, -1, -1);
+		forward.insertOrDecrease(source, 0);
+		backward.insertOrDecrease(destination, 0);
+		long best = UNREACHABLE;
+		int meeting = -1;
+		int settled = 0;
+		while(true) {
+			boolean forwardOpen = !forward.isEmpty() && forward.keyOf(forward.peek()) < best;
+			boolean backwardOpen = !backward.isEmpty() && backward.keyOf(backward.peek()) < best;
+			if(!forwardOpen && !backwardOpen)
+				break;
+			boolean forwardTurn = forwardOpen
+					&& (!backwardOpen || forward.keyOf(forward.peek()) <= backward.keyOf(backward.peek()));
+			settled++;
+			if(forwardTurn) {
+				int current = forward.poll();
+				long currentDistance = forwardSpace.distance(current);
+				long other = backwardSpace.distance(current);
+				if(other != UNREACHABLE && currentDistance + other < best) {
+					best = currentDistance + other;
+					meeting = current;
+				}
+				workspace.relaxed += upOffsets[current + 1] - upOffsets[current];
+				for(int i = upOffsets[current]; i < upOffsets[current + 1]; i++) {
+					int e = upEdges[i];
+					int next = edgeTo[e];
+					long candidate = currentDistance + edgeWeight[e];
+					if(candidate < forwardSpace.distance(next)) {
+						forwardSpace.reach(next, candidate, e, current);
+						forward.insertOrDecrease(next, candidate);
+					}
+				}
+			}
+			else {
+				int current = backward.poll();
+				long currentDistance = backwardSpace.distance(current);
+				long other = forwardSpace.distance(current);
+				if(other != UNREACHABLE && currentDistance + other < best) {
+					best = currentDistance + other;
+					meeting = current;
+				}
+				workspace.relaxed += downOffsets[current + 1] - downOffsets[current];
+				for(int i = downOffsets[current]; i < downOffsets[current + 1]; i++) {
+					int e = downEdges[i];
+					int previous = edgeFrom[e];
+					long candidate = currentDistance + edgeWeight[e];
+					if(candidate < backwardSpace.distance(previous)) {
+						backwardSpace.reach(previous, candidate, e, current);
+						backward.insertOrDecrease(previous, candidate);
+					}
+				}
+			}
+		}
+		settledCount = settled;
+		workspace.settled = settled;
+		return meeting;
+	}
+
+	//expands shortcuts into original arcs and describes them in order
+	private ArrayList<String> unpack(IntList edges, IntList stack) {
+		ArrayList<String> path = new ArrayList<String>();
+		for(int i = edges.size() - 1; i >= 0; i--) {
+			stack.add(edges.get(i));
+		}
+		while(stack.size() > 0) {
+			int e = stack.removeLast();
+			if(edgeSecond[e] == -1) {
+				path.add(graph.describeArc(edgeFrom[e], edgeFirst[e]));
+			}
+			else {
+				stack.add(edgeSecond[e]);
+				stack.add(edgeFirst[e]);
+			}
+		}
+		return path;
+	}
+
+	private int addEdge(int from, int to, long weight, int first, int second) {
+		if(edgeCount == edgeFrom.length) {
+			int capacity = edgeCount * 2;
+			edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+			edgeTo = Arrays.copyOf(edgeTo, capacity);
+			edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+			edgeFirst = Arrays.copyOf(edgeFirst, capacity);
+			edgeSecond = Arrays.copyOf(edgeSecond, capacity);
+		}
+		edgeFrom[edgeCount] = from;
+		edgeTo[edgeCount] = to;
+		edgeWeight[edgeCount] = weight;
+		edgeFirst[edgeCount] = first;
+		edgeSecond[edgeCount] = second;
+		return edgeCount++;
+	}
+
+	/*
+	 * Preprocessing. Works on adjacency lists of edge ids over the towns not
+	 * yet contracted; contracted towns stay in the lists and are skipped.
+	 */
+
+	private IntList[] outEdges;
+	private IntList[] inEdges;
+	private boolean[] contracted;
+	private int[] contractedNeighbors;
+	private long[] witnessDistance;
+	private IntList witnessTouched;
+	private IndexedMinHeap witnessHeap;
+
+	private void contract() {
+		outEdges = new IntList[n];
+		inEdges = new IntList[n];
+		for(int u = 0; u < n; u++) {
+			outEdges[u] = new IntList();
+			inEdges[u] = new IntList();
+		}
+		for(int e = 0; e < edgeCount; e++) {
+			outEdges[edgeFrom[e]].add(e);
+			inEdges[edgeTo[e]].add(e);
+		}
+		contracted = new boolean[n];
+		contractedNeighbors = new int[n];
+		witnessDistance = new long[n];
+		Arrays.fill(witnessDistance, UNREACHABLE);
+		witnessTouched = new IntList();
+		witnessHeap = new IndexedMinHeap(n);
+
+		IndexedMinHeap order = new IndexedMinHeap(n);
+		for(int v = 0; v < n; v++) {
+			order.insertOrDecrease(v, priority(v));
+		}
+		int nextRank = 0;
+		while(!order.isEmpty()) {
+			int v = order.poll();
+			long updated = priority(v);
+			if(!order.isEmpty() && updated > order.keyOf(order.peek())) {
+				//lazy update: someone else is cheaper now
+				order.insertOrDecrease(v, updated);
+				continue;
+			}
+			contractTown(v, true);
+			contracted[v] = true;
+			rank[v] = nextRank++;
+			detach(v);
+		}
+
+		outEdges = null;
+		inEdges = null;
+		contracted = null;
+		contractedNeighbors = null;
+		witnessDistance = null;
+		witnessTouched = null;
+		witnessHeap = null;
+	}
+
+	//edge difference plus contracted neighbors, to spread contraction evenly
+	private long priority(int v) {
+		int shortcuts = contractTown(v, false);
+		int removed = 0;
+		for(int i = 0; i < outEdges[v].size(); i++) {
+			if(!contracted[edgeTo[outEdges[v].get(i)]])
+				removed++;
+		}
+		for(int i = 0; i < inEdges[v].size(); i++) {
+			if(!contracted[edgeFrom[inEdges[v].get(i)]])
+				removed++;
+		}
+		return shortcuts - removed + contractedNeighbors[v];
+	}
+
+	/**
+	 * Finds the shortcuts needed to contract v. When add is true they are
+	 * added to the hierarchy.
+	 * @return number of shortcuts needed
+	 */
+	private int contractTown(int v, boolean add) {
+		int shortcuts = 0;
+		IntList in = inEdges[v];
+		IntList out = outEdges[v];
+		for(int i = 0; i < in.size(); i++) {
+			int inEdge = in.get(i);
+			int u = edgeFrom[inEdge];
+			if(contracted[u])
+				continue;
+			if(add)
+				contractedNeighbors[u]++;
+			long maxOut = -1;
+			for(int j = 0; j < out.size(); j++) {
+				int x = edgeTo[out.get(j)];
+				if(!contracted[x] && x != u)
+					maxOut = Math.max(maxOut, edgeWeight[out.get(j)]);
+			}
+			if(maxOut == -1)
+				continue;
+			witnessSearch(u, v, edgeWeight[inEdge] + maxOut, add ? WITNESS_SETTLE_LIMIT : PRIORITY_SETTLE_LIMIT);
+			for(int j = 0; j < out.size(); j++) {
+				int outEdge = out.get(j);
+				int x = edgeTo[outEdge];
+				if(contracted[x] || x == u)
+					continue;
+				long via = edgeWeight[inEdge] + edgeWeight[outEdge];
+				if(witnessDistance[x] <= via)
+					continue;
+				shortcuts++;
+				if(add) {
+					int shortcut = addEdge(u, x, via, inEdge, outEdge);
+					outEdges[u].add(shortcut);
+					inEdges[x].add(shortcut);
+				}
+			}
+			clearWitness();
+		}
+		if(add) {
+			for(int j = 0; j < out.size(); j++) {
+				int x = edgeTo[out.get(j)];
+				if(!contracted[x])
+					contractedNeighbors[x]++;
+			}
+		}
+		return shortcuts;
+	}
+
+	//drops the edges of contracted v from its neighbors' lists so later scans skip them
+	private void detach(int v) {
+		for(int i = 0; i < inEdges[v].size(); i++) {
+			int e = inEdges[v].get(i);
+			outEdges[edgeFrom[e]].remove(e);
+		}
+		for(int i = 0; i < outEdges[v].size(); i++) {
+			int e = outEdges[v].get(i);
+			inEdges[edgeTo[e]].remove(e);
+		}
+	}
+
+	//bounded Dijkstra from source among uncontracted towns, avoiding excluded
+	private void witnessSearch(int source, int excluded, long limit, int settleLimit) {
+		witnessDistance[source] = 0;
+		witnessTouched.add(source);
+		witnessHeap.insertOrDecrease(source, 0);
+		int settled = 0;
+		while(!witnessHeap.isEmpty() && settled < settleLimit) {
+			int current = witnessHeap.poll();
+			settled++;
+			long currentDistance = witnessDistance[current];
+			if(currentDistance > limit)
+				break;
+			IntList edges = outEdges[current];
+			for(int i = 0; i < edges.size(); i++) {
+				int e = edges.get(i);
+				int next = edgeTo[e];
+				if(next == excluded || contracted[next])
+					continue;
+				long candidate = currentDistance + edgeWeight[e];
+				if(candidate < witnessDistance[next]) {
+					if(witnessDistance[next] == UNREACHABLE)
+						witnessTouched.add(next);
+					witnessDistance[next] = candidate;
+					witnessHeap.insertOrDecrease(next, candidate);
+				}
+			}
+		}
+	}
+
+	private void clearWitness() {
+		for(int i = 0; i < witnessTouched.size(); i++) {
+			witnessDistance[witnessTouched.get(i)] = UNREACHABLE;
+		}
+		witnessTouched.clear();
+		witnessHeap.clear();
+	}
+
+	//splits every edge into the upward and downward search graphs by rank
+	private void buildSearchGraphs() {
+		upOffsets = new int[n + 1];
+		downOffsets = new int[n + 1];
+		for(int e = 0; e < edgeCount; e++) {
+			if(rank[edgeFrom[e]] < rank[edgeTo[e]])
+				upOffsets[edgeFrom[e] + 1]++;
+			else
+				downOffsets[edgeTo[e] + 1]++;
+		}
+		for(int u = 0; u < n; u++) {
+			upOffsets[u + 1] += upOffsets[u];
+			downOffsets[u + 1] += downOffsets[u];
+		}
+		upEdges = new int[upOffsets[n]];
+		downEdges = new int[downOffsets[n]];
+		int[] upNext = Arrays.copyOf(upOffsets, n);
+		int[] downNext = Arrays.copyOf(downOffsets, n);
+		for(int e = 0; e < edgeCount; e++) {
+			if(rank[edgeFrom[e]] < rank[edgeTo[e]])
+				upEdges[upNext[edgeFrom[e]]++] = e;
+			else
+				downEdges[downNext[edgeTo[e]]++] = e;
+		}
+	}
+
+	//growable list of ints
+	static final class IntList {
+
+		private int[] values = new int[4];
+		private int size;
+
+		void add(int value) {
+			if(size == values.length)
+				values = Arrays.copyOf(values, size * 2);
+			values[size++] = value;
+		}
+
+		int get(int i) {
+			return values[i];
+		}
+
+		int size() {
+			return size;
+		}
+
+		int removeLast() {
+			return values[--size];
+		}
+
+		void clear() {
+			size = 0;
+		}
+
+		//removes one occurrence of value, not keeping order
+		void remove(int value) {
+			for(int i = 0; i < size; i++) {
+				if(values[i] == value) {
+					values[i] = values[--size];
+					return;
+				}
+			}
+		}
+
+		void reverse() {
+			for(int i = 0, j = size - 1; i < j; i++, j--) {
+				int swap = values[i];
+				values[i] = values[j];
+				values[j] = swap;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,212 @@
+package abc;
+
+/*
+ *DistanceMatrix class
+ *
+ * Shortest distance between every pair of towns of a snapshot, one row per
+ * dense id. Rows are filled by single-source Dijkstra searches run in
+ * parallel on a ForkJoinPool, each worker taking the next unfilled row
+ * until none are left.
+ *
+ * The matrix is a flat int array, or for graphs too big for one array a
+ * file mapped in segments of whole rows. Pairs with no path, and rows and
+ * columns of unused ids, hold NO_PATH.
+ *
+ */
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DistanceMatrix {
+
+	public static final int NO_PATH = -1;
+	//largest mapped segment, a whole number of rows is mapped at a time
+	private static final long MAX_SEGMENT = 1L << 30;
+
+	private final GraphSnapshot graph;
+	private final int size;
+	//in-memory matrix, null when the matrix is mapped
+	private final int[] matrix;
+	//mapped matrix, rowsPerSegment rows in each
+	private final MappedByteBuffer[] mapped;
+	private final IntBuffer[] segments;
+	private final int rowsPerSegment;
+
+	private DistanceMatrix(GraphSnapshot graph, int[] matrix, MappedByteBuffer[] mapped, int rowsPerSegment) {
+		this.graph = graph;
+		this.size = graph.idCount();
+		this.matrix = matrix;
+		this.mapped = mapped;
+		this.rowsPerSegment = rowsPerSegment;
+		if(mapped == null) {
+			segments = null;
+		}
+		else {
+			segments = new IntBuffer[mapped.length];
+			for(int s = 0; s < mapped.length; s++) {
+				segments[s] = mapped[s].asIntBuffer();
+			}
+		}
+	}
+
+	/**
+	 * Computes the matrix in memory.
+	 * @param graph snapshot to compute distances for
+	 * @param threads number of searches run at once
+	 * @return the distance matrix
+	 * @throws IllegalArgumentException if the graph has too many ids for an
+	 * int array; use the file version for those
+	 * @throws ArithmeticException if a distance does not fit in an int
+	 */
+	public static DistanceMatrix compute(GraphSnapshot graph, int threads) {
+		long cells = (long) graph.idCount() * graph.idCount();
+		if(cells > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException(graph.idCount() + " towns is too many for an in-memory matrix");
+		DistanceMatrix result = new DistanceMatrix(graph, new int[(int) cells], null, 0);
+		result.fill(threads);
+		return result;
+	}
+
+	/**
+	 * Computes the matrix into a file, which is mapped into memory and
+	 * replaced if it exists. Only the operating system's page cache holds
+	 * the rows, so the matrix can be far larger than the heap.
+	 * @param graph snapshot to compute distances for
+	 * @param threads number of searches run at once
+	 * @param file file backing the matrix, row after row of big-endian ints
+	 * @return the distance matrix
+	 * @throws IOException if the file cannot be created or mapped
+	 * @throws ArithmeticException if a distance does not fit in an int
+	 */
+	public static DistanceMatrix compute(GraphSnapshot graph, int threads, Path file) throws IOException {
+		int n = graph.idCount();
+		int rowsPerSegment = (int) Math.max(1, Math.min(n, MAX_SEGMENT / 4 / Math.max(1, n)));
+		int segmentCount = n == 0 ? 0 : (n + rowsPerSegment - 1) / rowsPerSegment;
+		MappedByteBuffer[] mapped = new MappedByteBuffer[segmentCount];
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			for(int s = 0; s < segmentCount; s++) {
+				long firstRow = (long) s * rowsPerSegment;
+				long rows = Math.min(rowsPerSegment, n - firstRow);
+				mapped[s] = channel.map(FileChannel.MapMode.READ_WRITE, firstRow * n * 4, rows * n * 4);
+			}
+		}
+		DistanceMatrix result = new DistanceMatrix(graph, null, mapped, rowsPerSegment);
+		result.fill(threads);
+		return result;
+	}
+
+	private void fill(int threads) {
+		if(threads < 1)
+			throw new IllegalArgumentException();
+		AtomicInteger nextRow = new AtomicInteger();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			ArrayList<ForkJoinTask<?>> workers = new ArrayList<ForkJoinTask<?>>();
+			for(int t = 0; t < threads; t++) {
+				workers.add(pool.submit(() -> {
+					long[] distance = new long[size];
+					int[] row = new int[size];
+					IndexedMinHeap heap = new IndexedMinHeap(size);
+					for(int source = nextRow.getAndIncrement(); source < size; source = nextRow.getAndIncrement()) {
+						if(graph.townAt(source) == null) {
+							Arrays.fill(row, NO_PATH);
+						}
+						else {
+							graph.distances(source, distance, heap);
+							for(int v = 0; v < size; v++) {
+								row[v] = toCell(distance[v]);
+							}
+						}
+						storeRow(source, row);
+					}
+				}));
+			}
+			for(ForkJoinTask<?> worker : workers) {
+				worker.join();
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static int toCell(long distance) {
+		if(distance == GraphSnapshot.UNREACHABLE)
+			return NO_PATH;
+		if(distance > Integer.MAX_VALUE)
+			throw new ArithmeticException("distance " + distance + " does not fit in the matrix");
+		return (int) distance;
+	}
+
+	private void storeRow(int source, int[] row) {
+		if(matrix != null) {
+			System.arraycopy(row, 0, matrix, source * size, size);
+			return;
+		}
+		IntBuffer segment = segments[source / rowsPerSegment].duplicate();
+		segment.position((source % rowsPerSegment) * size);
+		segment.put(row);
+	}
+
+	//returns the snapshot the matrix was computed for
+	public GraphSnapshot getGraph() {
+		return graph;
+	}
+
+	//returns number of rows and columns, one per dense id
+	public int size() {
+		return size;
+	}
+
+	//returns true if the matrix is backed by a mapped file
+	public boolean isMapped() {
+		return matrix == null;
+	}
+
+	/**
+	 * Returns the distance between two dense ids.
+	 * @param source dense id of the starting town
+	 * @param destination dense id of the ending town
+	 * @return the shortest distance, NO_PATH if there is none
+	 */
+	public int distance(int source, int destination) {
+		if(matrix != null)
+			return matrix[source * size + destination];
+		return segments[source / rowsPerSegment].get((source % rowsPerSegment) * size + destination);
+	}
+
+	/**
+	 * Returns the distance between two towns.
+	 * @param sourceVertex starting town
+	 * @param destinationVertex ending town
+	 * @return the shortest distance, NO_PATH if there is none or either
+	 * town is not in the snapshot
+	 */
+	public int distance(Town sourceVertex, Town destinationVertex) {
+		int source = graph.idOf(sourceVertex);
+		int destination = graph.idOf(destinationVertex);
+		if(source == -1 || destination == -1)
+			return NO_PATH;
+		return distance(source, destination);
+	}
+
+	//writes the rows of a mapped matrix out to its file
+	public void force() {
+		if(mapped == null)
+			return;
+		for(MappedByteBuffer segment : mapped) {
+			segment.force();
+		}
+	}
+
+}
@@ -0,0 +1,349 @@
+package abc;
+
+/*
+ *DynamicShortestPathTree class
+ *
+ * Shortest path tree from a depot town that its graph keeps up to date as
+ * roads are added, removed or reweighted, instead of searching the whole
+ * graph again. Repairs follow Ramalingam and Reps: towns whose tree path
+ * used a road that got longer or went away are cut out together with their
+ * subtrees and searched again from their unaffected neighbours, and a road
+ * that got shorter or was added starts a search at its far end that only
+ * goes as far as distances keep dropping. Only towns whose distance changes
+ * and their neighbours are looked at.
+ *
+ * Trees come from Graph.maintainShortestPathTree and are repaired while the
+ * graph's lock is held, together with the tree's own lock. Queries take
+ * only the tree's lock and look towns up in the tree's own map, so they
+ * wait for a repair of this tree but never for other edits, weight batches
+ * or saves, and always see the tree of the latest change.
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+
+public class DynamicShortestPathTree {
+
+	private static final long UNREACHABLE = GraphSnapshot.UNREACHABLE;
+
+	private final Graph graph;
+	private final Town sourceTown;
+	//dense id of the depot, -1 once the tree is released or the depot removed
+	private int source;
+	private long[] distance;
+	private int[] parent;
+	private Road[] parentRoad;
+	//children of each town, as a doubly linked list of siblings
+	private int[] firstChild;
+	private int[] nextSibling;
+	private int[] previousSibling;
+	//reached towns by dense id and the other way round, so queries need not ask the graph
+	private Town[] towns;
+	private final HashMap<Town, Integer> reachedIds = new HashMap<Town, Integer>();
+	//towns cut out by the repair in progress
+	private boolean[] affected;
+	private int[] affectedIds;
+	private IndexedMinHeap heap;
+
+	/**
+	 * Runs Dijkstra from sourceVertex over the graph, called with the
+	 * graph's lock held.
+	 * @param graph graph the tree follows
+	 * @param sourceVertex depot town
+	 * @throws IllegalArgumentException if sourceVertex is not in the graph
+	 */
+	DynamicShortestPathTree(Graph graph, Town sourceVertex) {
+		this.graph = graph;
+		source = graph.idOf(sourceVertex);
+		if(source == -1)
+			throw new IllegalArgumentException();
+		sourceTown = graph.townAt(source);
+		int n = graph.idCount();
+		distance = new long[n];
+		parent = new int[n];
+		parentRoad = new Road[n];
+		firstChild = new int[n];
+		nextSibling = new int[n];
+		previousSibling = new int[n];
+		affected = new boolean[n];
+		affectedIds = new int[n];
+		towns = new Town[n];
+		heap = new IndexedMinHeap(n);
+		clear(0, n);
+		distance[source] = 0;
+		record(source);
+		heap.insertOrDecrease(source, 0);
+		propagate();
+	}
+
+	//resets towns from to to - 1 to unreachable and out of the tree
+	private void clear(int from, int to) {
+		Arrays.fill(distance, from, to, UNREACHABLE);
+		Arrays.fill(parent, from, to, -1);
+		Arrays.fill(parentRoad, from, to, null);
+		Arrays.fill(firstChild, from, to, -1);
+		Arrays.fill(nextSibling, from, to, -1);
+		Arrays.fill(previousSibling, from, to, -1);
+	}
+
+	//makes room for towns added to the graph since the last repair
+	private void ensureCapacity(int n) {
+		int length = distance.length;
+		if(n <= length)
+			return;
+		int capacity = Math.max(n, 2 * length);
+		distance = Arrays.copyOf(distance, capacity);
+		parent = Arrays.copyOf(parent, capacity);
+		parentRoad = Arrays.copyOf(parentRoad, capacity);
+		firstChild = Arrays.copyOf(firstChild, capacity);
+		nextSibling = Arrays.copyOf(nextSibling, capacity);
+		previousSibling = Arrays.copyOf(previousSibling, capacity);
+		affected = Arrays.copyOf(affected, capacity);
+		affectedIds = Arrays.copyOf(affectedIds, capacity);
+		towns = Arrays.copyOf(towns, capacity);
+		heap = new IndexedMinHeap(capacity);
+		clear(length, capacity);
+	}
+
+	//remembers the town of v for queries once v is reached
+	private void record(int v) {
+		if(towns[v] == null) {
+			towns[v] = graph.townAt(v);
+			reachedIds.put(towns[v], v);
+		}
+	}
+
+	//forgets the town of v once it is no longer reached, before its id can be reused
+	private void forget(int v) {
+		if(towns[v] != null) {
+			reachedIds.remove(towns[v]);
+			towns[v] = null;
+		}
+	}
+
+	//makes u the parent of v in the tree, reached by road
+	private void attach(int v, int u, Road road) {
+		detach(v);
+		record(v);
+		parent[v] = u;
+		parentRoad[v] = road;
+		previousSibling[v] = -1;
+		nextSibling[v] = firstChild[u];
+		if(firstChild[u] != -1)
+			previousSibling[firstChild[u]] = v;
+		firstChild[u] = v;
+	}
+
+	//takes v out of its parent's children
+	private void detach(int v) {
+		int u = parent[v];
+		if(u == -1)
+			return;
+		if(previousSibling[v] == -1)
+			firstChild[u] = nextSibling[v];
+		else
+			nextSibling[previousSibling[v]] = nextSibling[v];
+		if(nextSibling[v] != -1)
+			previousSibling[nextSibling[v]] = previousSibling[v];
+		parent[v] = -1;
+		parentRoad[v] = null;
+		nextSibling[v] = -1;
+		previousSibling[v] = -1;
+	}
+
+	//returns the roads touching the town with dense id v
+	private Collection<Road> roadsAt(int v) {
+		HashSet<Road> roads = graph.roadsAt(graph.townAt(v));
+		return roads == null ? Collections.<Road>emptySet() : roads;
+	}
+
+	//settles the towns in the heap in order, lowering their neighbours as it goes
+	private void propagate() {
+		while(!heap.isEmpty()) {
+			int u = heap.poll();
+			Town from = graph.townAt(u);
+			for(Road road : roadsAt(u)) {
+				if(!road.leadsFrom(from))
+					continue;
+				int v = graph.idOf(Graph.opposite(road, from));
+				if(v == u)
+					continue;
+				long candidate = distance[u] + road.getWeight();
+				if(candidate < distance[v]) {
+					distance[v] = candidate;
+					attach(v, u, road);
+					heap.insertOrDecrease(v, candidate);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Brings the tree up to date after roads were added, removed or
+	 * reweighted, called with the graph's lock held once the graph has
+	 * changed and while the roads' towns still have their ids.
+	 * @param changed roads that were added, removed or reweighted
+	 */
+	synchronized void repair(Collection<Road> changed) {
+		if(source == -1)
+			return;
+		ensureCapacity(graph.idCount());
+		//tree arcs that got longer or went away cut out the subtree below them
+		int count = 0;
+		for(Road road : changed) {
+			count = cutIfLonger(road.getSource(), road.getDestination(), count);
+			count = cutIfLonger(road.getDestination(), road.getSource(), count);
+		}
+		for(int i = 0; i < count; i++) {
+			int v = affectedIds[i];
+			detach(v);
+			distance[v] = UNREACHABLE;
+		}
+		//each cut town starts from its best neighbour outside the cut
+		for(int i = 0; i < count; i++) {
+			int v = affectedIds[i];
+			Town to = graph.townAt(v);
+			for(Road road : roadsAt(v)) {
+				Town from = Graph.opposite(road, to);
+				if(!road.leadsFrom(from))
+					continue;
+				int u = graph.idOf(from);
+				if(u == v || affected[u] || distance[u] == UNREACHABLE)
+					continue;
+				long candidate = distance[u] + road.getWeight();
+				if(candidate < distance[v]) {
+					distance[v] = candidate;
+					attach(v, u, road);
+				}
+			}
+			if(distance[v] != UNREACHABLE)
+				heap.insertOrDecrease(v, distance[v]);
+		}
+		for(int i = 0; i < count; i++) {
+			affected[affectedIds[i]] = false;
+		}
+		//roads that got shorter or were added lower the town they lead to
+		for(Road road : changed) {
+			lowerIfShorter(road.getSource(), road.getDestination());
+			lowerIfShorter(road.getDestination(), road.getSource());
+		}
+		propagate();
+		for(int i = 0; i < count; i++) {
+			if(distance[affectedIds[i]] == UNREACHABLE)
+				forget(affectedIds[i]);
+		}
+	}
+
+	//cuts out the subtree of to if its tree arc from from got longer or went away
+	private int cutIfLonger(Town from, Town to, int count) {
+		int u = graph.idOf(from);
+		int v = graph.idOf(to);
+		if(u == -1 || v == -1 || parent[v] != u || affected[v])
+			return count;
+		Road best = graph.getEdge(from, to);
+		//the arc's old weight is kept in the distances, since the road itself may have been reweighted
+		if(best != null && best.getWeight() <= distance[v] - distance[u]) {
+			parentRoad[v] = best;
+			return count;
+		}
+		//a town below an already cut town is cut too, so its subtree is skipped
+		affected[v] = true;
+		affectedIds[count++] = v;
+		for(int i = count - 1; i < count; i++) {
+			for(int child = firstChild[affectedIds[i]]; child != -1; child = nextSibling[child]) {
+				if(!affected[child]) {
+					affected[child] = true;
+					affectedIds[count++] = child;
+				}
+			}
+		}
+		return count;
+	}
+
+	//lowers to if the cheapest road from from now gives it a shorter path
+	private void lowerIfShorter(Town from, Town to) {
+		int u = graph.idOf(from);
+		int v = graph.idOf(to);
+		if(u == -1 || v == -1 || u == v || distance[u] == UNREACHABLE)
+			return;
+		Road best = graph.getEdge(from, to);
+		if(best == null)
+			return;
+		long candidate = distance[u] + best.getWeight();
+		if(candidate < distance[v]) {
+			distance[v] = candidate;
+			attach(v, u, best);
+			heap.insertOrDecrease(v, candidate);
+		}
+	}
+
+	//stops following the graph, called when the tree is released or its depot removed
+	synchronized void release() {
+		source = -1;
+	}
+
+	//returns the depot the tree is grown from
+	public Town getSource() {
+		return sourceTown;
+	}
+
+	//returns the graph the tree follows
+	public Graph getGraph() {
+		return graph;
+	}
+
+	//returns the dense id of town if the tree reaches it, or -1, called with the tree's lock held
+	private int reached(Town town) {
+		if(source == -1)
+			return -1;
+		Integer id = reachedIds.get(town);
+		return id == null ? -1 : id;
+	}
+
+	//returns true if there is a path from the depot to destination
+	public boolean isReachable(Town destinationVertex) {
+		synchronized(this) {
+			return reached(destinationVertex) != -1;
+		}
+	}
+
+	/**
+	 * Returns the length of the shortest path from the depot.
+	 * @param destinationVertex ending vertex
+	 * @return the distance in miles, or -1 if there is no path
+	 */
+	public long distanceTo(Town destinationVertex) {
+		synchronized(this) {
+			int destination = reached(destinationVertex);
+			return destination == -1 ? -1 : distance[destination];
+		}
+	}
+
+	/**
+	 * Returns the shortest path from the depot in the same
+	 * "X via R to Y N mi" form as Graph.shortestPath.
+	 * @param destinationVertex ending vertex
+	 * @return the path, or null if there is no path
+	 */
+	public ArrayList<String> pathTo(Town destinationVertex) {
+		synchronized(this) {
+			int destination = reached(destinationVertex);
+			if(destination == -1)
+				return null;
+			ArrayList<String> path = new ArrayList<String>();
+			for(int current = destination; parent[current] != -1; current = parent[current]) {
+				Road road = parentRoad[current];
+				path.add(towns[parent[current]].getName() + " via " + road.getName() + " to "
+						+ towns[current].getName() + " " + road.getWeight() + " mi");
+			}
+			Collections.reverse(path);
+			return path;
+		}
+	}
+
+}
@@ -0,0 +1,183 @@
+package abc;
+
+/*
+ *EdgeIndex class
+ *
+ * Map from an unordered pair of dense town ids to the bucket of roads
+ * between them. The pair is packed into one long and kept in an
+ * open-addressing table with linear probing, so lookups allocate nothing
+ * and cost O(1) however the town names hash. Keys are scrambled before probing, which spreads
+ * the packed pairs of neighbouring ids across the table.
+ *
+ */
+
+import java.util.Arrays;
+
+public class EdgeIndex {
+
+	//packed pairs are never negative, so -1 marks an empty slot
+	private static final long EMPTY = -1L;
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private RoadBucket[] values;
+	private int size;
+	private int mask;
+
+	public EdgeIndex() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * Creates an index that holds expectedSize pairs without growing.
+	 * @param expectedSize number of connected pairs expected
+	 */
+	public EdgeIndex(int expectedSize) {
+		allocate(capacityFor(expectedSize));
+	}
+
+	//returns a power of two at least twice expectedSize
+	private static int capacityFor(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while(capacity < 2L * expectedSize)
+			capacity <<= 1;
+		return capacity;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		Arrays.fill(keys, EMPTY);
+		values = new RoadBucket[capacity];
+		mask = capacity - 1;
+	}
+
+	//returns the key of the unordered pair a, b
+	static long pack(int a, int b) {
+		int low = Math.min(a, b);
+		int high = Math.max(a, b);
+		return ((long) high << 32) | low;
+	}
+
+	//returns the first slot to probe for key
+	private int slot(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int) key & mask;
+	}
+
+	//returns the slot holding key, or -1
+	private int find(long key) {
+		int i = slot(key);
+		while(keys[i] != EMPTY) {
+			if(keys[i] == key)
+				return i;
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	//returns number of connected pairs in the index
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the roads between two towns.
+	 * @param a dense id of one town
+	 * @param b dense id of the other town
+	 * @return the bucket of roads, or null if the towns are not connected
+	 */
+	public RoadBucket get(int a, int b) {
+		int i = find(pack(a, b));
+		return i < 0 ? null : values[i];
+	}
+
+	//returns true if towns a and b have a bucket
+	public boolean contains(int a, int b) {
+		return find(pack(a, b)) >= 0;
+	}
+
+	/**
+	 * Stores the bucket of roads between two towns, replacing any bucket
+	 * already there.
+	 * @param a dense id of one town
+	 * @param b dense id of the other town
+	 * @param bucket the roads
+	 * @return the bucket that was replaced, or null
+	 */
+	public RoadBucket put(int a, int b, RoadBucket bucket) {
+		if(a < 0 || b < 0)
+			throw new IllegalArgumentException();
+		if(2 * (size + 1) > keys.length)
+			rehash(keys.length << 1);
+		long key = pack(a, b);
+		int i = slot(key);
+		while(keys[i] != EMPTY) {
+			if(keys[i] == key) {
+				RoadBucket previous = values[i];
+				values[i] = bucket;
+				return previous;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = bucket;
+		size++;
+		return null;
+	}
+
+	/**
+	 * Removes the bucket of roads between two towns.
+	 * @param a dense id of one town
+	 * @param b dense id of the other town
+	 * @return the bucket removed, or null if the towns were not connected
+	 */
+	public RoadBucket remove(int a, int b) {
+		int i = find(pack(a, b));
+		if(i < 0)
+			return null;
+		RoadBucket removed = values[i];
+		//shift later entries of the run back so no probe stops early at the hole
+		int hole = i;
+		int j = (i + 1) & mask;
+		while(keys[j] != EMPTY) {
+			int home = slot(keys[j]);
+			if(((j - home) & mask) >= ((j - hole) & mask)) {
+				keys[hole] = keys[j];
+				values[hole] = values[j];
+				hole = j;
+			}
+			j = (j + 1) & mask;
+		}
+		keys[hole] = EMPTY;
+		values[hole] = null;
+		size--;
+		return removed;
+	}
+
+	//removes every bucket
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		RoadBucket[] oldValues = values;
+		allocate(capacity);
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldKeys[i] == EMPTY)
+				continue;
+			int j = slot(oldKeys[i]);
+			while(keys[j] != EMPTY)
+				j = (j + 1) & mask;
+			keys[j] = oldKeys[i];
+			values[j] = oldValues[i];
+		}
+	}
+
+}
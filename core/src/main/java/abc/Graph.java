@@ -0,0 +1,1094 @@
+package abc;
+
+/*
+ *Graph class
+ * 
+ * @author Jonas da Silva
+ *
+ * Thread safety: writers hold the graph's lock, one at a time, and a
+ * change only bumps the version. The first snapshot() call after a change
+ * builds the immutable GraphSnapshot under the lock and publishes it
+ * through a volatile field, so a run of edits pays for one rebuild. Every
+ * other call is a single volatile read; route queries run on the snapshot,
+ * so any number of them run alongside a writer and each sees one whole
+ * version of the graph.
+ *
+ * Roads are two-way unless added as one-way. Lookups by a pair of towns
+ * (getEdge, containsEdge, removeEdge) only see roads that can be driven
+ * from the first town to the second.
+ *
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Graph implements GraphInterface<Town, Road > {
+	
+	//landmarks used by ALT unless setLandmarkCount says otherwise
+	public static final int DEFAULT_LANDMARK_COUNT = 16;
+	//versions are unique across graphs, so a replaced graph never reuses one
+	private static final AtomicLong VERSIONS = new AtomicLong();
+	//rebuilds stale preprocessing off the query path, one at a time for every graph
+	private static final ExecutorService PREPROCESSING = Executors.newSingleThreadExecutor(task -> {
+		Thread thread = new Thread(task, "graph-preprocessing");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	private HashSet <Town> towns;
+	private HashSet <Road> roads;
+	//roads touching each town, kept in step with roads
+	private HashMap<Town, HashSet<Road>> incidentRoads;
+	//dense ids; freed ids are reused so they stay close to vertexById.size()
+	private HashMap<Town, Integer> vertexIds;
+	private ArrayList<Town> vertexById;
+	private PriorityQueue<Integer> freeIds;
+	//towns by name, kept in step with vertexIds
+	private HashMap<String, Town> townsByName;
+	//parallel roads of each town pair by the pair's dense ids, kept in step with roads
+	private EdgeIndex edgeIndex;
+	
+	private volatile RoutingAlgorithm routingAlgorithm = RoutingAlgorithm.DIJKSTRA;
+	private volatile Heuristic heuristic = Heuristic.zero();
+	//preprocessing is built under its own lock so writers are not held up
+	private final Object preprocessingLock = new Object();
+	private volatile ContractionHierarchy hierarchy;
+	private volatile LandmarkTable landmarks;
+	//set while a rebuild of the hierarchy or the landmark table is queued or running
+	private final AtomicBoolean hierarchyRefreshing = new AtomicBoolean();
+	private final AtomicBoolean landmarksRefreshing = new AtomicBoolean();
+	private volatile int landmarkCount = DEFAULT_LANDMARK_COUNT;
+	private volatile RoutingMetrics metrics = new InMemoryMetrics();
+	//depot trees repaired after every change to the roads
+	private final ArrayList<DynamicShortestPathTree> maintainedTrees = new ArrayList<DynamicShortestPathTree>();
+	
+	//changed by every modification, used to know when snapshot is stale
+	private volatile long version = VERSIONS.incrementAndGet();
+	private volatile GraphSnapshot snapshot;
+	
+	public Graph() {
+		towns = new HashSet<Town>();
+		roads = new HashSet<Road>();
+		incidentRoads = new HashMap<Town, HashSet<Road>>();
+		vertexIds = new HashMap<Town, Integer>();
+		vertexById = new ArrayList<Town>();
+		freeIds = new PriorityQueue<Integer>();
+		townsByName = new HashMap<String, Town>();
+		edgeIndex = new EdgeIndex();
+	}
+
+	public Graph(HashSet<Town> towns, HashSet<Road> roads) {
+		this.towns = towns;
+		this.roads = roads;
+		incidentRoads = new HashMap<Town, HashSet<Road>>();
+		vertexIds = new HashMap<Town, Integer>();
+		vertexById = new ArrayList<Town>();
+		freeIds = new PriorityQueue<Integer>();
+		townsByName = new HashMap<String, Town>();
+		edgeIndex = new EdgeIndex(roads.size());
+		for(Town town : towns) {
+			incidentRoads.put(town, new HashSet<Road>());
+			assignId(town);
+		}
+		for(Road road : roads) {
+			addVertexIfAbsent(road.getSource());
+			addVertexIfAbsent(road.getDestination());
+			indexRoad(road);
+		}
+	}
+	
+	//adds road to roads, its pair's bucket and the incidence sets of both of its towns,
+	//returns false if the pair already has a road of that name
+	private boolean indexRoad(Road road) {
+		int source = vertexIds.get(road.getSource());
+		int destination = vertexIds.get(road.getDestination());
+		RoadBucket bucket = edgeIndex.get(source, destination);
+		if(bucket == null) {
+			bucket = new RoadBucket();
+			edgeIndex.put(source, destination, bucket);
+		}
+		if(!bucket.add(road))
+			return false;
+		roads.add(road);
+		incident(road.getSource()).add(road);
+		incident(road.getDestination()).add(road);
+		road.getSource().addAdjacent(road.getDestination());
+		road.getDestination().addAdjacent(road.getSource());
+		return true;
+	}
+	
+	//removes road from roads, its pair's bucket and the incidence sets of both of its towns
+	private void unindexRoad(Road road) {
+		int source = vertexIds.get(road.getSource());
+		int destination = vertexIds.get(road.getDestination());
+		RoadBucket bucket = edgeIndex.get(source, destination);
+		bucket.remove(road);
+		if(bucket.isEmpty()) {
+			edgeIndex.remove(source, destination);
+			road.getSource().removeAdjacent(road.getDestination());
+			road.getDestination().removeAdjacent(road.getSource());
+		}
+		roads.remove(road);
+		HashSet<Road> sourceRoads = incidentRoads.get(road.getSource());
+		if(sourceRoads != null)
+			sourceRoads.remove(road);
+		HashSet<Road> destinationRoads = incidentRoads.get(road.getDestination());
+		if(destinationRoads != null)
+			destinationRoads.remove(road);
+	}
+	
+	//returns the incidence set of town, creating it if needed
+	private HashSet<Road> incident(Town town) {
+		HashSet<Road> set = incidentRoads.get(town);
+		if(set == null) {
+			set = new HashSet<Road>();
+			incidentRoads.put(town, set);
+		}
+		return set;
+	}
+	
+	//gives the graph a new version, called with the lock held once a change is complete
+	private void modified() {
+		version = VERSIONS.incrementAndGet();
+	}
+	
+	//repairs every maintained tree after roads were added, removed or reweighted
+	private void repairTrees(Collection<Road> changed) {
+		for(DynamicShortestPathTree tree : maintainedTrees) {
+			tree.repair(changed);
+		}
+	}
+	
+	//returns the town at the other end of road from town
+	static Town opposite(Road road, Town town) {
+		if(road.getSource().equals(town))
+			return road.getDestination();
+		return road.getSource();
+	}
+	
+	 /**
+     * Returns an edge connecting source vertex to target vertex if such
+     * vertices and such edge exist in this graph. Otherwise returns
+     * null. If any of the specified vertices is null
+     * returns null
+     *
+     * If several roads connect the vertices, the one with the lowest weight
+     * is returned, which is the one shortest path searches follow. One-way
+     * roads are only returned in their own direction.
+     *
+     * For two-way roads, the returned edge may have its source and target
+     * vertices in the opposite order.
+     *
+     * @param sourceVertex source vertex of the edge.
+     * @param destinationVertex target vertex of the edge.
+     *
+     * @return an edge connecting source vertex to target vertex.
+     */
+	@Override
+	public synchronized Road getEdge(Town sourceVertex, Town destinationVertex) {
+		if(sourceVertex == null || destinationVertex == null)
+			return null;
+		RoadBucket bucket = bucket(sourceVertex, destinationVertex);
+		return bucket == null ? null : bucket.cheapest(sourceVertex);
+	}
+	
+	/**
+	 * Returns the road of the given name leading from one town to another.
+	 * @param sourceVertex town the road leads from
+	 * @param destinationVertex town the road leads to
+	 * @param name name of the road
+	 * @return the road, or null if no road of that name leads that way
+	 */
+	public synchronized Road getEdge(Town sourceVertex, Town destinationVertex, String name) {
+		RoadBucket bucket = bucket(sourceVertex, destinationVertex);
+		return bucket == null ? null : bucket.get(name, sourceVertex);
+	}
+	
+	/**
+	 * Returns every road leading from one town to another.
+	 * @param sourceVertex town the roads lead from
+	 * @param destinationVertex town the roads lead to
+	 * @return the roads, cheapest first, empty if there are none
+	 */
+	public synchronized List<Road> getEdges(Town sourceVertex, Town destinationVertex) {
+		RoadBucket bucket = bucket(sourceVertex, destinationVertex);
+		return bucket == null ? new ArrayList<Road>() : bucket.toList(sourceVertex);
+	}
+	
+	//returns the roads between source and destination, or null if there are none
+	private RoadBucket bucket(Town sourceVertex, Town destinationVertex) {
+		if(sourceVertex == null || destinationVertex == null)
+			return null;
+		Integer source = vertexIds.get(sourceVertex);
+		Integer destination = vertexIds.get(destinationVertex);
+		if(source == null || destination == null)
+			return null;
+		return edgeIndex.get(source, destination);
+	}
+	
+	/**
+     * Creates a new edge in this graph, going from the source vertex to the
+     * target vertex, and returns the created edge. 
+     * 
+     * The source and target vertices must already be contained in this
+     * graph. If they are not found in graph IllegalArgumentException is
+     * thrown.
+     *
+     *
+     * @param sourceVertex source vertex of the edge.
+     * @param destinationVertex target vertex of the edge.
+     * @param weight weight of the edge
+     * @param description description for edge
+     *
+     * @return The newly created edge if added to the graph, or null if the
+     * vertices already have a road of the same description.
+     *
+     * @throws IllegalArgumentException if source or target vertices are not
+     * found in the graph, or if weight is negative.
+     * @throws NullPointerException if any of the specified vertices is null.
+     */
+	@Override
+	public synchronized Road addEdge(Town sourceVertex, Town destinationVertex, int weight, String description) {
+		if(sourceVertex == null) {
+			throw new NullPointerException();      
+		}
+		if(destinationVertex == null) {
+			throw new NullPointerException();
+		}
+		if(!containsVertex(sourceVertex)){
+			throw new IllegalArgumentException();
+		}
+		if(!containsVertex(destinationVertex)) {
+			throw new IllegalArgumentException();
+		}
+		if(weight < 0) {
+			throw new IllegalArgumentException();
+		}
+		return addEdge(new Road(sourceVertex, destinationVertex, weight, description));
+	}
+	
+	/**
+	 * Creates a new road like addEdge, which is one-way from sourceVertex
+	 * to destinationVertex if oneWay is true.
+	 * 
+	 * @param sourceVertex town the road leads from
+	 * @param destinationVertex town the road leads to
+	 * @param weight weight of the edge
+	 * @param description description for edge
+	 * @param oneWay true for a road that can only be driven from source to destination
+	 * 
+	 * @return the new road, or null if the towns already have a road of the
+	 * same description and direction
+	 * 
+	 * @throws IllegalArgumentException if either town is not in the graph,
+	 * or if weight is negative.
+	 * @throws NullPointerException if either town is null.
+	 */
+	public synchronized Road addEdge(Town sourceVertex, Town destinationVertex, int weight, String description, boolean oneWay) {
+		if(sourceVertex == null || destinationVertex == null)
+			throw new NullPointerException();
+		if(!containsVertex(sourceVertex) || !containsVertex(destinationVertex) || weight < 0)
+			throw new IllegalArgumentException();
+		return addEdge(new Road(sourceVertex, destinationVertex, weight, description, oneWay));
+	}
+	
+	//adds a road between towns already in the graph, returns null if it was there
+	private Road addEdge(Road road) {
+		if(indexRoad(road)) {
+			modified();
+			repairTrees(Collections.singletonList(road));
+			return road;
+		}
+		return null;
+	}
+
+	//adds a two-way road between the towns with the given names, see the one-way form
+	public Road addEdge(String sourceName, String destinationName, int weight, String description) {
+		return addEdge(sourceName, destinationName, weight, description, false);
+	}
+
+	/**
+	 * Adds a road between the towns with the given names, adding the towns
+	 * first if they are not in the graph yet. The road is attached to the
+	 * graph's own Town objects.
+	 * 
+	 * @param sourceName name of the source town
+	 * @param destinationName name of the destination town
+	 * @param weight weight of the edge
+	 * @param description description for edge
+	 * @param oneWay true for a road that can only be driven from source to destination
+	 * 
+	 * @return the new road, or null if the towns already have a road of that
+	 * name and direction
+	 * 
+	 * @throws IllegalArgumentException if weight is negative.
+	 * @throws NullPointerException if either name is null.
+	 */
+	public synchronized Road addEdge(String sourceName, String destinationName, int weight, String description, boolean oneWay) {
+		if(sourceName == null || destinationName == null)
+			throw new NullPointerException();
+		if(weight < 0)
+			throw new IllegalArgumentException();
+		int townCount = towns.size();
+		Town source = addVertexIfAbsent(new Town(sourceName));
+		Town destination = addVertexIfAbsent(new Town(destinationName));
+		Road road = new Road(source, destination, weight, description, oneWay);
+		if(!indexRoad(road)) {
+			if(towns.size() != townCount)
+				modified();
+			return null;
+		}
+		modified();
+		repairTrees(Collections.singletonList(road));
+		return road;
+	}
+
+	/**
+	 * Changes the weights of a batch of roads at once, such as one reading
+	 * of a traffic feed. The whole batch is applied under the graph's lock
+	 * and gives the graph a single new version, so route queries, which run
+	 * on snapshots, see either none of the batch or all of it and are never
+	 * held up while it is applied. Updates are applied in order; one naming
+	 * no road, or a road that cannot be driven from its first town to its
+	 * second, is skipped. A reweighted road is replaced by a new Road, so
+	 * roads handed out earlier keep the weight they had.
+	 * 
+	 * @param batch new weights
+	 * 
+	 * @return the number of roads whose weight changed
+	 * 
+	 * @throws IllegalArgumentException if any weight is negative, in which
+	 * case no weight is changed.
+	 * @throws NullPointerException if the batch is null.
+	 */
+	public synchronized int updateWeights(WeightBatch batch) {
+		for(int i = 0; i < batch.size(); i++) {
+			if(batch.getWeight(i) < 0)
+				throw new IllegalArgumentException();
+		}
+		int updated = 0;
+		ArrayList<Road> changed = maintainedTrees.isEmpty() ? null : new ArrayList<Road>();
+		for(int i = 0; i < batch.size(); i++) {
+			Town source = batch.getSource(i);
+			RoadBucket bucket = bucket(source, batch.getDestination(i));
+			if(bucket == null)
+				continue;
+			String name = batch.getName(i);
+			Road road = name == null ? bucket.cheapest(source) : bucket.get(name, source);
+			if(road == null || road.getWeight() == batch.getWeight(i))
+				continue;
+			Road replaced = bucket.reweight(road, batch.getWeight(i));
+			//roads equal regardless of weight, so the copy takes the old road's place in every set
+			roads.remove(road);
+			roads.add(replaced);
+			incident(road.getSource()).remove(road);
+			incident(road.getSource()).add(replaced);
+			incident(road.getDestination()).remove(road);
+			incident(road.getDestination()).add(replaced);
+			updated++;
+			if(changed != null)
+				changed.add(replaced);
+		}
+		if(updated > 0) {
+			modified();
+			if(changed != null)
+				repairTrees(changed);
+		}
+		return updated;
+	}
+	
+	/**
+	 * Adds every road of the batch, adding its towns first if they are not
+	 * in the graph yet. Roads that are already in the graph are skipped, and
+	 * roads are attached to the graph's own Town objects, so batches parsed
+	 * separately share towns.
+	 * 
+	 * @param batch roads to add
+	 * 
+	 * @return the number of roads added
+	 * 
+	 * @throws IllegalArgumentException if any weight is negative, in which
+	 * case nothing is added.
+	 * @throws NullPointerException if the batch or any of its towns is null,
+	 * in which case nothing is added.
+	 */
+	public synchronized int addEdges(RoadBatch batch) {
+		for(int i = 0; i < batch.size(); i++) {
+			if(batch.getSource(i) == null || batch.getDestination(i) == null)
+				throw new NullPointerException();
+			if(batch.getWeight(i) < 0)
+				throw new IllegalArgumentException();
+		}
+		int added = 0;
+		int townCount = towns.size();
+		ArrayList<Road> addedRoads = maintainedTrees.isEmpty() ? null : new ArrayList<Road>();
+		for(int i = 0; i < batch.size(); i++) {
+			Town source = addVertexIfAbsent(batch.getSource(i));
+			Town destination = addVertexIfAbsent(batch.getDestination(i));
+			Road road = new Road(source, destination, batch.getWeight(i), batch.getName(i), batch.isOneWay(i));
+			if(indexRoad(road)) {
+				added++;
+				if(addedRoads != null)
+					addedRoads.add(road);
+			}
+		}
+		//an unchanged import keeps the version, and with it every cache built on it
+		if(added > 0 || towns.size() != townCount)
+			modified();
+		if(addedRoads != null)
+			repairTrees(addedRoads);
+		return added;
+	}
+	
+	//adds v unless a town of the same name is there, returns the town kept by the graph
+	private Town addVertexIfAbsent(Town v) {
+		Town town = townsByName.get(v.getName());
+		if(town != null) {
+			if(v.hasCoordinates() && !town.hasCoordinates())
+				town.setCoordinates(v.getX(), v.getY());
+			return town;
+		}
+		towns.add(v);
+		incident(v);
+		assignId(v);
+		return v;
+	}
+
+	/**
+     * Adds the specified vertex to this graph if not already present. More
+     * formally, adds the specified vertex, v, to this graph if
+     * this graph contains no vertex u such that
+     * u.equals(v). If this graph already contains such vertex, the call
+     * leaves this graph unchanged and returns false. In combination
+     * with the restriction on constructors, this ensures that graphs never
+     * contain duplicate vertices.
+     *
+     * @param v vertex to be added to this graph.
+     *
+     * @return true if this graph did not already contain the specified
+     * vertex.
+     *
+     * @throws NullPointerException if the specified vertex is null.
+     */
+	@Override
+	public synchronized boolean addVertex(Town v) {
+		if (v == null)
+			throw new NullPointerException();
+		if(!townsByName.containsKey(v.getName())) {
+			towns.add(v);
+			incident(v);
+			assignId(v);
+			modified();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+     * Returns true if and only if this graph contains an edge going
+     * from the source vertex to the target vertex. For two-way roads the
+     * same result is obtained when source and target are inverted. If any of
+     * the specified vertices does not exist in the graph, or if is
+     * null, returns false.
+     *
+     * @param sourceVertex source vertex of the edge.
+     * @param destinationVertex target vertex of the edge.
+     *
+     * @return true if this graph contains the specified edge.
+     */
+	@Override
+	public synchronized boolean containsEdge(Town sourceVertex, Town destinationVertex) {
+	       if(sourceVertex == null || destinationVertex == null)
+	    	   return false;
+	       RoadBucket bucket = bucket(sourceVertex, destinationVertex);
+	       return bucket != null && bucket.cheapest(sourceVertex) != null;
+	}
+
+	/**
+     * Returns true if this graph contains the specified vertex. More
+     * formally, returns true if and only if this graph contains a
+     * vertex u such that u.equals(v). If the
+     * specified vertex is null returns false.
+     *
+     * @param v vertex whose presence in this graph is to be tested.
+     *
+     * @return true if this graph contains the specified vertex.
+     */
+	@Override
+	public synchronized boolean containsVertex(Town v) {
+		if(v == null)
+			return false;
+		return townsByName.containsKey(v.getName());
+	}
+	
+	/**
+	 * Returns the town of this graph with the given name.
+	 * @param name name of the town
+	 * @return the graph's own Town object, or null if there is no such town
+	 */
+	public synchronized Town getVertex(String name) {
+		return townsByName.get(name);
+	}
+
+	 /**
+     * Returns a set of the edges contained in this graph. The set is backed by
+     * the graph, so changes to the graph are reflected in the set. If the graph
+     * is modified while an iteration over the set is in progress, the results
+     * of the iteration are undefined. Iterate while holding the graph's lock
+     * if other threads may modify it.
+     *
+     *
+     * @return a set of the edges contained in this graph.
+     */
+	@Override
+	public Set<Road> edgeSet() {
+		return roads;
+	}
+
+	/**
+     * Returns a set of all edges touching the specified vertex (also
+     * referred to as adjacent vertices). If no edges are
+     * touching the specified vertex returns an empty set.
+     *
+     * @param vertex the vertex for which a set of touching edges is to be
+     * returned.
+     *
+     * @return a set of all edges touching the specified vertex.
+     *
+     * @throws IllegalArgumentException if vertex is not found in the graph.
+     * @throws NullPointerException if vertex is null.
+     */
+	@Override
+	public synchronized Set<Road> edgesOf(Town vertex) {
+		if(vertex == null)
+			throw new NullPointerException();
+		HashSet<Road> vertexRoads = incidentRoads.get(vertex);
+		if(vertexRoads == null)
+			return new HashSet<Road>();
+		return new HashSet<Road>(vertexRoads);
+	}
+
+	/**
+     * Removes an edge going from source vertex to target vertex, if such
+     * vertices and such edge exist in this graph. 
+     * 
+     * If weight >- 1 it must be checked
+     * If description != null, it must be checked 
+     * 
+     * Parallel roads are told apart by description; with only a weight the
+     * cheapest road of that weight is removed.
+     * 
+     * Returns the edge if removed
+     * or null otherwise.
+     *
+     * @param sourceVertex source vertex of the edge.
+     * @param destinationVertex target vertex of the edge.
+     * @param weight weight of the edge
+     * @param description description of the edge
+     *
+     * @return The removed edge, or null if no edge removed.
+     */
+	@Override
+	public synchronized Road removeEdge(Town sourceVertex, Town destinationVertex, int weight, String description) {
+		if(weight < -1 || (weight == -1 && description == null))
+			return null;
+		RoadBucket bucket = bucket(sourceVertex, destinationVertex);
+		if(bucket == null)
+			return null;
+		//a name picks one parallel road directly; a weight alone picks the cheapest of that weight
+		Road road = description != null ? bucket.get(description, sourceVertex) : bucket.getByWeight(weight, sourceVertex);
+		if(road == null || (weight > -1 && road.getWeight() != weight))
+			return null;
+		unindexRoad(road);
+		modified();
+		repairTrees(Collections.singletonList(road));
+		return road;
+	}
+
+	/**
+     * Removes the specified vertex from this graph including all its touching
+     * edges if present. More formally, if the graph contains a vertex 
+     * u such that u.equals(v), the call removes all edges
+     * that touch u and then removes u itself. If no
+     * such u is found, the call leaves the graph unchanged.
+     * Returns true if the graph contained the specified vertex. (The
+     * graph will not contain the specified vertex once the call returns).
+     *
+     * If the specified vertex is null returns false.
+     *
+     * @param v vertex to be removed from this graph, if present.
+     *
+     * @return true if the graph contained the specified vertex;
+     * false otherwise.
+     */
+	@Override
+	public synchronized boolean removeVertex(Town v) {
+		if(v == null)
+			return false;
+
+		if(towns.contains(v)) {
+			towns.remove(v);
+			HashSet<Road> roadSet = incidentRoads.remove(v);
+			if(roadSet != null) {
+				for(Road r: roadSet) {
+					roads.remove(r);
+					//removes the pair's whole bucket, so later parallel roads find it gone
+					edgeIndex.remove(vertexIds.get(r.getSource()), vertexIds.get(r.getDestination()));
+					Town other = opposite(r, v);
+					HashSet<Road> otherRoads = incidentRoads.get(other);
+					if(otherRoads != null)
+						otherRoads.remove(r);
+					other.removeAdjacent(v);
+				}
+			}
+			//trees are repaired before the id is freed, while the removed roads' towns still have ids
+			Iterator<DynamicShortestPathTree> trees = maintainedTrees.iterator();
+			while(trees.hasNext()) {
+				DynamicShortestPathTree tree = trees.next();
+				if(tree.getSource().equals(v)) {
+					tree.release();
+					trees.remove();
+				}
+				else if(roadSet != null)
+					tree.repair(roadSet);
+			}
+			releaseId(v);
+			modified();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+     * Returns a set of the vertices contained in this graph. The set is backed
+     * by the graph, so changes to the graph are reflected in the set. If the
+     * graph is modified while an iteration over the set is in progress, the
+     * results of the iteration are undefined. Iterate while holding the
+     * graph's lock if other threads may modify it.
+     *
+     *
+     * @return a set view of the vertices contained in this graph.
+     */
+	@Override
+	public Set<Town> vertexSet() {
+		return towns;
+	}
+
+	
+	
+    /**
+     * Dijkstra's Shortest Path Method. The graph keeps no state between
+     * queries, so the result is not stored; use shortestPathTree to keep
+     * the distances and paths from sourceVertex.
+     * @param sourceVertex the vertex to find shortest path from
+     * 
+     */
+	@Override
+	public void dijkstraShortestPath(Town sourceVertex) {
+		shortestPathTree(sourceVertex);
+	}
+
+	
+    /**
+     * Find the shortest path from the sourceVertex to the destinationVertex
+     * with the routing algorithm, in this thread's QueryWorkspace
+     * @param sourceVertex starting vertex
+     * @param destinationVertex ending vertex
+     * @return An arraylist of Strings that describe the path from sourceVertex
+     * to destinationVertex
+     * They will be in the format: startVertex "via" Edge "to" endVertex weight
+	 * As an example: if finding path from Vertex_1 to Vertex_10, the ArrayList<String>
+	 * would be in the following format(this is a hypothetical solution):
+	 * Vertex_1 via Edge_2 to Vertex_3 4 (first string in ArrayList)
+	 * Vertex_3 via Edge_5 to Vertex_8 2 (second string in ArrayList)
+	 * Vertex_8 via Edge_9 to Vertex_10 2 (third string in ArrayList)
+     */   
+	@Override
+	public ArrayList<String> shortestPath(Town sourceVertex, Town destinationVertex) {
+	       return shortestPath(snapshot(), sourceVertex, destinationVertex);
+	}
+	
+	/**
+	 * Finds the shortest path on one snapshot of this graph with the
+	 * routing algorithm, so that a caller can tie the result to the version
+	 * it was computed on. Never takes the graph's lock.
+	 * 
+	 * Once the graph has changed, CONTRACTION_HIERARCHY and ALT queries do
+	 * not wait for the preprocessing to be rebuilt: the rebuild runs in the
+	 * background and the query is answered, and recorded, as DIJKSTRA until
+	 * it is done. Only the first query of a graph that was never
+	 * preprocessed builds it on the spot.
+	 * @param view snapshot of this graph to search
+	 * @param sourceVertex starting vertex
+	 * @param destinationVertex ending vertex
+	 * @return the path in the format of shortestPath, or null if either town
+	 * is not in the snapshot or there is no path
+	 */
+	public ArrayList<String> shortestPath(GraphSnapshot view, Town sourceVertex, Town destinationVertex) {
+	       if(!view.containsVertex(sourceVertex) || !view.containsVertex(destinationVertex))
+	    	   return null;
+	       RoutingAlgorithm algorithm = routingAlgorithm;
+	       //preprocessing is done before the clock starts so only the query is timed
+	       ContractionHierarchy ch = algorithm == RoutingAlgorithm.CONTRACTION_HIERARCHY ? readyHierarchy(view) : null;
+	       LandmarkTable table = algorithm == RoutingAlgorithm.ALT ? readyLandmarkTable(view) : null;
+	       if((algorithm == RoutingAlgorithm.CONTRACTION_HIERARCHY && ch == null) || (algorithm == RoutingAlgorithm.ALT && table == null))
+	    	   algorithm = RoutingAlgorithm.DIJKSTRA;
+	       long start = System.nanoTime();
+	       ArrayList<String> path;
+	       switch(algorithm) {
+	       case BIDIRECTIONAL_DIJKSTRA:
+	    	   path = new BidirectionalDijkstra(view).shortestPath(sourceVertex, destinationVertex);
+	    	   break;
+	       case A_STAR:
+	    	   path = new AStarSearch(view, heuristic).shortestPath(sourceVertex, destinationVertex);
+	    	   break;
+	       case CONTRACTION_HIERARCHY:
+	    	   path = ch.shortestPath(sourceVertex, destinationVertex);
+	    	   break;
+	       case ALT:
+	    	   path = new AStarSearch(view, table).shortestPath(sourceVertex, destinationVertex);
+	    	   break;
+	       default:
+	    	   path = view.shortestPath(sourceVertex, destinationVertex);
+	       }
+	       metrics.recordQuery(algorithm, System.nanoTime() - start,
+	    		   QueryWorkspace.lastSettledCount(), QueryWorkspace.lastRelaxedCount());
+	       return path;
+	}
+	
+	/**
+	 * Returns a Contraction Hierarchy of the current graph, preprocessing
+	 * it if the graph changed since the last one was built.
+	 * @return the hierarchy of the current snapshot
+	 */
+	public ContractionHierarchy contractionHierarchy() {
+		return contractionHierarchy(snapshot());
+	}
+	
+	//returns the hierarchy of view, or null while a stale one is rebuilt in the background
+	private ContractionHierarchy readyHierarchy(GraphSnapshot view) {
+		ContractionHierarchy current = hierarchy;
+		if(current == null)
+			return contractionHierarchy(view);
+		if(current.getGraph() == view)
+			return current;
+		if(hierarchyRefreshing.compareAndSet(false, true)) {
+			PREPROCESSING.execute(() -> {
+				try {
+					contractionHierarchy(snapshot());
+				}
+				finally {
+					hierarchyRefreshing.set(false);
+				}
+			});
+		}
+		return null;
+	}
+	
+	//returns the hierarchy of view, building it once even if several threads ask
+	private ContractionHierarchy contractionHierarchy(GraphSnapshot view) {
+		ContractionHierarchy current = hierarchy;
+		if(current != null && current.getGraph() == view)
+			return current;
+		synchronized(preprocessingLock) {
+			current = hierarchy;
+			if(current == null || current.getGraph() != view) {
+				current = new ContractionHierarchy(view);
+				hierarchy = current;
+			}
+			return current;
+		}
+	}
+	
+	/**
+	 * Returns the landmark table of the current graph, computing it if the
+	 * graph changed since the last one was computed or set.
+	 * @return the landmark table of the current snapshot
+	 */
+	public LandmarkTable landmarkTable() {
+		return landmarkTable(snapshot());
+	}
+	
+	//returns the landmark table of view, or null while a stale one is recomputed in the background
+	private LandmarkTable readyLandmarkTable(GraphSnapshot view) {
+		LandmarkTable current = landmarks;
+		if(current == null)
+			return landmarkTable(view);
+		if(current.getGraph() == view)
+			return current;
+		if(landmarksRefreshing.compareAndSet(false, true)) {
+			PREPROCESSING.execute(() -> {
+				try {
+					landmarkTable(snapshot());
+				}
+				finally {
+					landmarksRefreshing.set(false);
+				}
+			});
+		}
+		return null;
+	}
+	
+	//returns the landmark table of view, computing it once even if several threads ask
+	private LandmarkTable landmarkTable(GraphSnapshot view) {
+		LandmarkTable current = landmarks;
+		if(current != null && current.getGraph() == view)
+			return current;
+		synchronized(preprocessingLock) {
+			current = landmarks;
+			if(current == null || current.getGraph() != view) {
+				current = LandmarkTable.compute(view, landmarkCount);
+				landmarks = current;
+			}
+			return current;
+		}
+	}
+	
+	/**
+	 * Uses a precomputed landmark table, such as one loaded from disk, for
+	 * ALT queries. It is only used while the graph is unchanged.
+	 * @param landmarks table computed or loaded for snapshot()
+	 * @throws IllegalArgumentException if landmarks is for another snapshot
+	 */
+	public void setLandmarkTable(LandmarkTable landmarks) {
+		if(landmarks.getGraph() != snapshot())
+			throw new IllegalArgumentException();
+		this.landmarks = landmarks;
+	}
+	
+	//returns number of landmarks a computed table uses
+	public int getLandmarkCount() {
+		return landmarkCount;
+	}
+	
+	/**
+	 * Sets the number of landmarks used when the table is next computed.
+	 * More landmarks give tighter estimates but a larger table.
+	 * @param landmarkCount number of landmarks, at least 1
+	 * @throws IllegalArgumentException if landmarkCount is less than 1
+	 */
+	public void setLandmarkCount(int landmarkCount) {
+		if(landmarkCount < 1)
+			throw new IllegalArgumentException();
+		this.landmarkCount = landmarkCount;
+	}
+	
+	//returns the heuristic used by A_STAR
+	public Heuristic getHeuristic() {
+		return heuristic;
+	}
+	
+	/**
+	 * Sets the heuristic used when the routing algorithm is A_STAR. The
+	 * default estimates 0 everywhere.
+	 * @param heuristic an admissible heuristic
+	 * @throws NullPointerException if heuristic is null
+	 */
+	public void setHeuristic(Heuristic heuristic) {
+		if(heuristic == null)
+			throw new NullPointerException();
+		this.heuristic = heuristic;
+	}
+	
+	//returns the search shortestPath uses
+	public RoutingAlgorithm getRoutingAlgorithm() {
+		return routingAlgorithm;
+	}
+	
+	/**
+	 * Chooses the search shortestPath uses. dijkstraShortestPath and
+	 * shortestPathTree always run a full single-source Dijkstra.
+	 * @param routingAlgorithm the search to use
+	 * @throws NullPointerException if routingAlgorithm is null
+	 */
+	public void setRoutingAlgorithm(RoutingAlgorithm routingAlgorithm) {
+		if(routingAlgorithm == null)
+			throw new NullPointerException();
+		this.routingAlgorithm = routingAlgorithm;
+	}
+	
+	//returns where shortestPath records its queries
+	public RoutingMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * Chooses where shortestPath records the latency and search effort of
+	 * each query. Defaults to an InMemoryMetrics.
+	 * @param metrics metrics to record to, RoutingMetrics.none() to record nothing
+	 * @throws NullPointerException if metrics is null
+	 */
+	public void setMetrics(RoutingMetrics metrics) {
+		if(metrics == null)
+			throw new NullPointerException();
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * Computes the shortest paths from sourceVertex to every town once. The
+	 * returned tree answers path and distance queries for any destination
+	 * without searching again, and is not affected by later changes to the
+	 * graph.
+	 * @param sourceVertex the vertex to find shortest paths from
+	 * @return the shortest path tree rooted at sourceVertex
+	 * @throws IllegalArgumentException if sourceVertex is not in the graph
+	 */
+	public ShortestPathTree shortestPathTree(Town sourceVertex) {
+		return new ShortestPathTree(snapshot(), sourceVertex);
+	}
+	
+	/**
+	 * Computes the shortest paths from a depot town and keeps them up to
+	 * date: every later change to the roads repairs the tree in place,
+	 * touching only the towns whose distance changes. Each maintained tree
+	 * adds to the cost of changing the graph, so trees should be kept for a
+	 * fixed set of depots and released with stopMaintaining. If the depot
+	 * is removed, the tree stops following the graph and reaches no town.
+	 * @param sourceVertex the depot
+	 * @return the tree rooted at sourceVertex
+	 * @throws IllegalArgumentException if sourceVertex is not in the graph
+	 */
+	public synchronized DynamicShortestPathTree maintainShortestPathTree(Town sourceVertex) {
+		DynamicShortestPathTree tree = new DynamicShortestPathTree(this, sourceVertex);
+		maintainedTrees.add(tree);
+		return tree;
+	}
+	
+	/**
+	 * Stops repairing a tree from maintainShortestPathTree. The tree
+	 * reaches no town afterwards.
+	 * @param tree tree to release
+	 * @return true if the tree was maintained by this graph
+	 */
+	public synchronized boolean stopMaintaining(DynamicShortestPathTree tree) {
+		if(!maintainedTrees.remove(tree))
+			return false;
+		tree.release();
+		return true;
+	}
+	
+	/**
+	 * Finds the shortest path from sourceVertex to each destination with a
+	 * single search.
+	 * @param sourceVertex starting vertex
+	 * @param destinations ending vertices
+	 * @return the path to each destination, in the order given, in the
+	 * format of shortestPath; null for destinations that cannot be reached
+	 * @throws IllegalArgumentException if sourceVertex is not in the graph
+	 */
+	public LinkedHashMap<Town, ArrayList<String>> shortestPaths(Town sourceVertex, Collection<Town> destinations) {
+		ShortestPathTree tree = shortestPathTree(sourceVertex);
+		LinkedHashMap<Town, ArrayList<String>> paths = new LinkedHashMap<Town, ArrayList<String>>();
+		for(Town destination : destinations) {
+			paths.put(destination, tree.pathTo(destination));
+		}
+		return paths;
+	}
+	
+	/**
+	 * Computes the distance between every pair of towns, one search per
+	 * town spread over every core.
+	 * @return distances of the current snapshot
+	 * @throws IllegalArgumentException if there are too many towns for an
+	 * in-memory matrix
+	 */
+	public DistanceMatrix distanceMatrix() {
+		return DistanceMatrix.compute(snapshot(), Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Computes the distance between every pair of towns into a memory
+	 * mapped file, for graphs whose matrix does not fit in the heap.
+	 * @param file file backing the matrix, replaced if it exists
+	 * @return distances of the current snapshot
+	 * @throws IOException if the file cannot be created or mapped
+	 */
+	public DistanceMatrix distanceMatrix(Path file) throws IOException {
+		return DistanceMatrix.compute(snapshot(), Runtime.getRuntime().availableProcessors(), file);
+	}
+	
+	/**
+	 * Returns an immutable CSR copy of this graph. The copy is built by the
+	 * first call after the graph has been modified, under the graph's lock;
+	 * until the next modification every call is a single volatile read that
+	 * never takes the lock.
+	 * @return snapshot of the current graph
+	 */
+	public GraphSnapshot snapshot() {
+		GraphSnapshot current = snapshot;
+		if(current != null && current.getVersion() == version)
+			return current;
+		synchronized(this) {
+			current = snapshot;
+			if(current == null || current.getVersion() != version) {
+				ArrayList<HashSet<Road>> roadsById = new ArrayList<HashSet<Road>>(vertexById.size());
+				for(Town town : vertexById) {
+					roadsById.add(town == null ? null : incidentRoads.get(town));
+				}
+				current = new GraphSnapshot(vertexById.toArray(new Town[0]), roadsById, vertexIds,
+						roads.size(), version);
+				snapshot = current;
+			}
+			return current;
+		}
+	}
+	
+	//returns a number that increases every time the graph is modified
+	public long getVersion() {
+		return version;
+	}
+	
+	//returns the dense id of v, or -1 if v is not in the graph
+	public synchronized int idOf(Town v) {
+		Integer id = vertexIds.get(v);
+		return id == null ? -1 : id;
+	}
+	
+	//returns the town with dense id, called with the lock held
+	Town townAt(int id) {
+		return vertexById.get(id);
+	}
+	
+	//returns one more than the highest dense id, called with the lock held
+	int idCount() {
+		return vertexById.size();
+	}
+	
+	//returns the roads touching town, or null, called with the lock held
+	HashSet<Road> roadsAt(Town town) {
+		return incidentRoads.get(town);
+	}
+	
+	//gives v the lowest free dense id
+	private void assignId(Town v) {
+		if(vertexIds.containsKey(v))
+			return;
+		int id;
+		if(freeIds.isEmpty()) {
+			id = vertexById.size();
+			vertexById.add(v);
+		}
+		else {
+			id = freeIds.poll();
+			vertexById.set(id, v);
+		}
+		vertexIds.put(v, id);
+		townsByName.put(v.getName(), v);
+	}
+	
+	//frees the dense id of v for reuse
+	private void releaseId(Town v) {
+		Integer id = vertexIds.remove(v);
+		if(id != null) {
+			townsByName.remove(vertexById.get(id).getName());
+			vertexById.set(id, null);
+			freeIds.add(id);
+		}
+	}
+
+}
@@ -0,0 +1,250 @@
+package abc;
+
+/*
+ *GraphFile class
+ *
+ * Binary file format for a whole Graph, so it can be restored without
+ * reparsing a road file. Layout, all counts and indexes as unsigned
+ * varints and weights as zigzag varints:
+ *
+ *   int magic "TOWN", int format version
+ *   town count, then each town name as length + UTF-8 bytes followed by
+ *   a byte that is 1 if two doubles with its coordinates follow, else 0
+ *   road name count, then each road name as length + UTF-8 bytes
+ *   road count, then per road: source town index, destination town
+ *   index, weight, road name index plus one, or 0 for a road with no
+ *   name, shifted left by one with the low bit set for a one-way road
+ *
+ * Reading checks every count against the bytes left in the file, so a
+ * corrupt file fails with an IOException instead of a huge allocation,
+ * and rejects duplicate town names and negative weights, which the
+ * graph never holds.
+ *
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+public class GraphFile {
+
+	static final int MAGIC = 0x544F574E;
+	static final int FORMAT_VERSION = 1;
+
+	private GraphFile() {
+	}
+
+	/**
+	 * Writes the graph to path, replacing any existing file. The towns and
+	 * roads are copied under the graph's lock, so the file holds one whole
+	 * version of the graph, and written once the lock is released, so
+	 * writers only wait for the copy and not for the disk.
+	 * @param graph graph to write
+	 * @param path file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void save(Graph graph, Path path) throws IOException {
+		try(OutputStream file = Files.newOutputStream(path)) {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+			write(graph, out);
+			out.flush();
+		}
+	}
+
+	/**
+	 * Reads a graph written by save.
+	 * @param path file to read
+	 * @return the graph in the file
+	 * @throws IOException if the file cannot be read or is not a graph file
+	 */
+	public static Graph load(Path path) throws IOException {
+		ByteBuffer in;
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if(channel.size() > Integer.MAX_VALUE)
+				throw new IOException("graph file too large: " + path);
+			in = ByteBuffer.allocate((int) channel.size());
+			while(in.hasRemaining()) {
+				if(channel.read(in) == -1)
+					throw new EOFException();
+			}
+			in.flip();
+		}
+		try {
+			return read(in);
+		}
+		catch(BufferUnderflowException e) {
+			throw new EOFException("truncated graph file: " + path);
+		}
+	}
+
+	//copies the towns and roads under the graph's lock, since vertexSet and edgeSet are live views, then writes the copy
+	static void write(Graph graph, DataOutputStream out) throws IOException {
+		Town[] towns;
+		Road[] roads;
+		synchronized(graph) {
+			towns = graph.vertexSet().toArray(new Town[0]);
+			roads = graph.edgeSet().toArray(new Road[0]);
+		}
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT_VERSION);
+
+		HashMap<Town, Integer> townIndex = new HashMap<Town, Integer>();
+		writeVarint(out, towns.length);
+		for(Town town : towns) {
+			townIndex.put(town, townIndex.size());
+			writeString(out, town.getName());
+			out.writeByte(town.hasCoordinates() ? 1 : 0);
+			if(town.hasCoordinates()) {
+				out.writeDouble(town.getX());
+				out.writeDouble(town.getY());
+			}
+		}
+
+		HashMap<String, Integer> nameIndex = new HashMap<String, Integer>();
+		ArrayList<String> names = new ArrayList<String>();
+		for(Road road : roads) {
+			if(road.getName() != null && !nameIndex.containsKey(road.getName())) {
+				nameIndex.put(road.getName(), names.size());
+				names.add(road.getName());
+			}
+		}
+		writeVarint(out, names.size());
+		for(String name : names) {
+			writeString(out, name);
+		}
+
+		writeVarint(out, roads.length);
+		for(Road road : roads) {
+			writeVarint(out, townIndex.get(road.getSource()));
+			writeVarint(out, townIndex.get(road.getDestination()));
+			writeVarint(out, zigzag(road.getWeight()));
+			int name = road.getName() == null ? 0 : nameIndex.get(road.getName()) + 1;
+			writeVarint(out, name << 1 | (road.isOneWay() ? 1 : 0));
+		}
+	}
+
+	static Graph read(ByteBuffer in) throws IOException {
+		if(in.remaining() < 8 || in.getInt() != MAGIC)
+			throw new IOException("not a town graph file");
+		int formatVersion = in.getInt();
+		if(formatVersion != FORMAT_VERSION)
+			throw new IOException("unsupported graph file version " + formatVersion);
+
+		//a town takes at least a name length and a coordinate flag
+		int townCount = readCount(in, 2);
+		Town[] towns = new Town[townCount];
+		HashSet<Town> townSet = new HashSet<Town>(townCount * 2);
+		for(int i = 0; i < townCount; i++) {
+			towns[i] = new Town(readString(in));
+			if(in.get() == 1)
+				towns[i].setCoordinates(in.getDouble(), in.getDouble());
+			if(!townSet.add(towns[i]))
+				throw new IOException("duplicate town " + towns[i].getName());
+		}
+
+		int nameCount = readCount(in, 1);
+		//index 0 stands for a road with no name
+		String[] names = new String[nameCount + 1];
+		for(int i = 1; i <= nameCount; i++) {
+			names[i] = readString(in);
+		}
+
+		//a road takes at least two town indexes, a weight and a name index
+		int roadCount = readCount(in, 4);
+		HashSet<Road> roads = new HashSet<Road>(roadCount * 2);
+		for(int i = 0; i < roadCount; i++) {
+			Town source = towns[readIndex(in, townCount)];
+			Town destination = towns[readIndex(in, townCount)];
+			int weight = unzigzag(readVarint(in));
+			if(weight < 0)
+				throw new IOException("negative road weight " + weight);
+			int packed = readVarint(in);
+			boolean oneWay = (packed & 1) != 0;
+			String name = names[checkIndex(packed >>> 1, nameCount + 1)];
+			source.addAdjacent(destination);
+			destination.addAdjacent(source);
+			roads.add(new Road(source, destination, weight, name, oneWay));
+		}
+		return new Graph(townSet, roads);
+	}
+
+	static void writeVarint(DataOutputStream out, int value) throws IOException {
+		while((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	static int readVarint(ByteBuffer in) throws IOException {
+		int value = 0;
+		for(int shift = 0; shift < 35; shift += 7) {
+			byte b = in.get();
+			value |= (b & 0x7F) << shift;
+			if(b >= 0)
+				return value;
+		}
+		throw new IOException("malformed varint");
+	}
+
+	static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarint(out, bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(ByteBuffer in) throws IOException {
+		int length = readCount(in);
+		if(length > in.remaining())
+			throw new EOFException();
+		String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+		in.position(in.position() + length);
+		return value;
+	}
+
+	private static int readCount(ByteBuffer in) throws IOException {
+		int count = readVarint(in);
+		if(count < 0)
+			throw new IOException("malformed count");
+		return count;
+	}
+
+	//reads a count of items taking at least bytesEach bytes, so it cannot exceed what is left
+	private static int readCount(ByteBuffer in, int bytesEach) throws IOException {
+		int count = readCount(in);
+		if(count > in.remaining() / bytesEach)
+			throw new IOException("count " + count + " larger than the file");
+		return count;
+	}
+
+	private static int readIndex(ByteBuffer in, int bound) throws IOException {
+		return checkIndex(readVarint(in), bound);
+	}
+
+	private static int checkIndex(int index, int bound) throws IOException {
+		if(index < 0 || index >= bound)
+			throw new IOException("index out of range");
+		return index;
+	}
+
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+}
@@ -0,0 +1,453 @@
+package abc;
+
+/*
+ *GraphSnapshot class
+ *
+ * Immutable compressed sparse row (CSR) copy of a Graph. Towns are known
+ * by the dense ids the Graph gave them; the arcs leaving town u are
+ * targets[offsets[u]] .. targets[offsets[u + 1] - 1], sorted by target,
+ * with the matching weights and road name ids stored alongside. An
+ * undirected road is stored as one arc in each direction. Of several
+ * parallel roads between two towns only the cheapest becomes an arc, so
+ * searches relax each pair once.
+ *
+ * Backward searches walk the arcs entering a town through the in-arc
+ * accessors, which hold the reverse graph. While every road is two-way
+ * the reverse graph is the graph itself and the in-arc arrays are the
+ * out-arc arrays; once a one-way road exists they are built separately,
+ * so each direction only scans the arcs that can be driven that way.
+ *
+ * Nothing is modified after construction, so a snapshot can be searched
+ * by any number of threads without locking.
+ *
+ */
+
+import java.util.*;
+
+public class GraphSnapshot {
+
+	static final long UNREACHABLE = Long.MAX_VALUE;
+
+	private final Town[] towns;
+	private final HashMap<Town, Integer> ids;
+	private final int[] offsets;
+	private final int[] targets;
+	private final int[] weights;
+	private final int[] roadNameIds;
+	private final String[] roadNames;
+	private final int edgeCount;
+	private final long version;
+	//arcs entering each town: inSources[inOffsets[v]..] lead to v
+	private final int[] inOffsets;
+	private final int[] inSources;
+	private final int[] inWeights;
+	private final int[] inRoadNameIds;
+
+	/**
+	 * Freezes the given adjacency into CSR arrays.
+	 * @param towns town for each dense id, null for unused ids
+	 * @param roadsById roads touching each town, indexed by dense id
+	 * @param ids dense id of each town
+	 * @param edgeCount number of roads in the graph, counting parallel roads
+	 * @param version version of the graph being frozen
+	 */
+	GraphSnapshot(Town[] towns, List<? extends Collection<Road>> roadsById, Map<Town, Integer> ids, int edgeCount,
+			long version) {
+		this.towns = towns;
+		this.version = version;
+		this.ids = new HashMap<Town, Integer>(ids);
+		this.edgeCount = edgeCount;
+		HashMap<String, Integer> nameIds = new HashMap<String, Integer>();
+		ArrayList<String> names = new ArrayList<String>();
+		int[][] out = buildArcs(towns, roadsById, ids, false, nameIds, names);
+		offsets = out[0];
+		targets = out[1];
+		weights = out[2];
+		roadNameIds = out[3];
+		if(hasOneWayRoads(roadsById)) {
+			int[][] in = buildArcs(towns, roadsById, ids, true, nameIds, names);
+			inOffsets = in[0];
+			inSources = in[1];
+			inWeights = in[2];
+			inRoadNameIds = in[3];
+		}
+		else {
+			inOffsets = offsets;
+			inSources = targets;
+			inWeights = weights;
+			inRoadNameIds = roadNameIds;
+		}
+		roadNames = names.toArray(new String[0]);
+	}
+
+	private static boolean hasOneWayRoads(List<? extends Collection<Road>> roadsById) {
+		for(Collection<Road> row : roadsById) {
+			if(row == null)
+				continue;
+			for(Road road : row) {
+				if(road.isOneWay())
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Builds the CSR arrays of the arcs leaving every town, or entering it
+	 * when incoming is true, as {offsets, other ends, weights, name ids}.
+	 * Road names get ids in nameIds and names as they are first seen.
+	 */
+	private static int[][] buildArcs(Town[] towns, List<? extends Collection<Road>> roadsById, Map<Town, Integer> ids,
+			boolean incoming, HashMap<String, Integer> nameIds, ArrayList<String> names) {
+		int n = towns.length;
+		int[] offsets = new int[n + 1];
+		int maxArcs = 0;
+		for(int u = 0; u < n; u++) {
+			Collection<Road> row = roadsById.get(u);
+			maxArcs += row == null ? 0 : row.size();
+		}
+		int[] others = new int[maxArcs];
+		int[] weights = new int[maxArcs];
+		int[] roadNameIds = new int[maxArcs];
+
+		int arc = 0;
+		for(int u = 0; u < n; u++) {
+			offsets[u] = arc;
+			Collection<Road> row = roadsById.get(u);
+			if(row == null || row.isEmpty())
+				continue;
+			Road[] rowRoads = row.toArray(new Road[0]);
+			long[] order = new long[rowRoads.length];
+			int count = 0;
+			for(int i = 0; i < rowRoads.length; i++) {
+				Road road = rowRoads[i];
+				Town other = road.getSource().equals(towns[u]) ? road.getDestination() : road.getSource();
+				//an arc leaves u if the road leads from u, and enters u if it leads from the other end
+				if(!road.leadsFrom(incoming ? other : towns[u]))
+					continue;
+				order[count++] = ((long) ids.get(other) << 32) | i;
+			}
+			Arrays.sort(order, 0, count);
+			for(int k = 0; k < count; k++) {
+				int other = (int) (order[k] >>> 32);
+				Road road = rowRoads[(int) order[k]];
+				//parallel roads are next to each other; only the cheapest becomes an arc
+				while(k + 1 < count && (int) (order[k + 1] >>> 32) == other) {
+					Road parallel = rowRoads[(int) order[++k]];
+					if(RoadBucket.compare(parallel, road) < 0)
+						road = parallel;
+				}
+				Integer nameId = nameIds.get(road.getName());
+				if(nameId == null) {
+					nameId = names.size();
+					nameIds.put(road.getName(), nameId);
+					names.add(road.getName());
+				}
+				others[arc] = other;
+				weights[arc] = road.getWeight();
+				roadNameIds[arc] = nameId;
+				arc++;
+			}
+		}
+		offsets[n] = arc;
+		if(arc < maxArcs) {
+			others = Arrays.copyOf(others, arc);
+			weights = Arrays.copyOf(weights, arc);
+			roadNameIds = Arrays.copyOf(roadNameIds, arc);
+		}
+		return new int[][] {offsets, others, weights, roadNameIds};
+	}
+
+	//returns the number of dense ids, including unused ones
+	public int idCount() {
+		return towns.length;
+	}
+
+	//returns number of roads
+	public int edgeCount() {
+		return edgeCount;
+	}
+
+	//returns the version of the graph the snapshot was taken of
+	public long getVersion() {
+		return version;
+	}
+
+	//returns number of arcs leaving id
+	public int degree(int id) {
+		return offsets[id + 1] - offsets[id];
+	}
+
+	//returns number of arcs entering id
+	public int inDegree(int id) {
+		return inOffsets[id + 1] - inOffsets[id];
+	}
+
+	//returns the dense id of town, or -1 if it is not in the snapshot
+	public int idOf(Town town) {
+		if(town == null)
+			return -1;
+		Integer id = ids.get(town);
+		return id == null ? -1 : id;
+	}
+
+	//returns the town with the given dense id, or null for an unused id
+	public Town townAt(int id) {
+		return towns[id];
+	}
+
+	//returns first arc index of id
+	public int firstArc(int id) {
+		return offsets[id];
+	}
+
+	//returns one past the last arc index of id
+	public int endArc(int id) {
+		return offsets[id + 1];
+	}
+
+	//returns the dense id an arc leads to
+	public int arcTarget(int arc) {
+		return targets[arc];
+	}
+
+	//returns the weight of an arc
+	public int arcWeight(int arc) {
+		return weights[arc];
+	}
+
+	//returns the road name of an arc
+	public String arcName(int arc) {
+		return roadNames[roadNameIds[arc]];
+	}
+
+	//returns first in-arc index of id
+	public int firstInArc(int id) {
+		return inOffsets[id];
+	}
+
+	//returns one past the last in-arc index of id
+	public int endInArc(int id) {
+		return inOffsets[id + 1];
+	}
+
+	//returns the dense id an in-arc comes from
+	public int inArcSource(int inArc) {
+		return inSources[inArc];
+	}
+
+	//returns the weight of an in-arc
+	public int inArcWeight(int inArc) {
+		return inWeights[inArc];
+	}
+
+	//returns the road name of an in-arc
+	public String inArcName(int inArc) {
+		return roadNames[inRoadNameIds[inArc]];
+	}
+
+	//returns true if the town is in the snapshot
+	public boolean containsVertex(Town town) {
+		return idOf(town) != -1;
+	}
+
+	//returns the arc from source to destination, or -1 if there is none
+	public int findArc(int source, int destination) {
+		int low = offsets[source];
+		int high = offsets[source + 1] - 1;
+		while(low <= high) {
+			int mid = (low + high) >>> 1;
+			if(targets[mid] < destination)
+				low = mid + 1;
+			else if(targets[mid] > destination)
+				high = mid - 1;
+			else
+				return mid;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns true if a road connects the two towns.
+	 * @param sourceVertex source town
+	 * @param destinationVertex destination town
+	 * @return true if a road connects the two towns
+	 */
+	public boolean containsEdge(Town sourceVertex, Town destinationVertex) {
+		int source = idOf(sourceVertex);
+		int destination = idOf(destinationVertex);
+		if(source == -1 || destination == -1)
+			return false;
+		return findArc(source, destination) != -1;
+	}
+
+	/**
+	 * Returns the roads that can be driven from the town, rebuilt from the
+	 * arc arrays. Only the cheapest of several parallel roads is included.
+	 * @param vertex town whose roads are returned
+	 * @return set of roads leaving the town, one per neighbouring town
+	 * @throws IllegalArgumentException if vertex is not in the snapshot
+	 * @throws NullPointerException if vertex is null
+	 */
+	public Set<Road> edgesOf(Town vertex) {
+		if(vertex == null)
+			throw new NullPointerException();
+		int id = idOf(vertex);
+		if(id == -1)
+			throw new IllegalArgumentException();
+		HashSet<Road> edges = new HashSet<Road>();
+		for(int arc = offsets[id]; arc < offsets[id + 1]; arc++) {
+			edges.add(new Road(towns[id], towns[targets[arc]], weights[arc], arcName(arc)));
+		}
+		return edges;
+	}
+
+	/**
+	 * Runs Dijkstra from source over the arc arrays.
+	 * @param source dense id of the starting town
+	 * @param distance filled with the distance to every id, UNREACHABLE if none
+	 * @param predecessorArc filled with the arc used to reach every id, -1 if none
+	 * @param predecessor filled with the id before every id on its path, -1 if none
+	 */
+	public void dijkstra(int source, long[] distance, int[] predecessorArc, int[] predecessor) {
+		int n = towns.length;
+		Arrays.fill(distance, 0, n, UNREACHABLE);
+		Arrays.fill(predecessorArc, 0, n, -1);
+		Arrays.fill(predecessor, 0, n, -1);
+		IndexedMinHeap heap = new IndexedMinHeap(n);
+		distance[source] = 0;
+		heap.insertOrDecrease(source, 0);
+		while(!heap.isEmpty()) {
+			int current = heap.poll();
+			long currentDistance = distance[current];
+			for(int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+				int next = targets[arc];
+				long candidate = currentDistance + weights[arc];
+				if(candidate < distance[next]) {
+					distance[next] = candidate;
+					predecessorArc[next] = arc;
+					predecessor[next] = current;
+					heap.insertOrDecrease(next, candidate);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs Dijkstra from source for distances only, reusing the caller's
+	 * heap, which must be empty.
+	 * @param source dense id of the starting town
+	 * @param distance filled with the distance to every id, UNREACHABLE if none
+	 * @param heap empty heap with capacity for every id
+	 */
+	public void distances(int source, long[] distance, IndexedMinHeap heap) {
+		Arrays.fill(distance, 0, towns.length, UNREACHABLE);
+		distance[source] = 0;
+		heap.insertOrDecrease(source, 0);
+		while(!heap.isEmpty()) {
+			int current = heap.poll();
+			long currentDistance = distance[current];
+			for(int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+				int next = targets[arc];
+				long candidate = currentDistance + weights[arc];
+				if(candidate < distance[next]) {
+					distance[next] = candidate;
+					heap.insertOrDecrease(next, candidate);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Builds the "X via R to Y N mi" strings for the path to destination
+	 * from arrays filled by dijkstra.
+	 * @param destination dense id of the last town
+	 * @param distance distances filled by dijkstra
+	 * @param predecessorArc arcs filled by dijkstra
+	 * @param predecessor predecessors filled by dijkstra
+	 * @return the path, or null if destination was not reached
+	 */
+	public ArrayList<String> describePath(int destination, long[] distance, int[] predecessorArc, int[] predecessor) {
+		if(distance[destination] == UNREACHABLE)
+			return null;
+		ArrayList<String> path = new ArrayList<String>();
+		for(int current = destination; predecessor[current] != -1; current = predecessor[current]) {
+			int arc = predecessorArc[current];
+			path.add(describeArc(predecessor[current], arc));
+		}
+		Collections.reverse(path);
+		return path;
+	}
+
+	//builds the path to destination from a search space, null if destination was not reached
+	ArrayList<String> describePath(int destination, QueryWorkspace.SearchSpace space) {
+		if(!space.reached(destination))
+			return null;
+		int hops = 0;
+		for(int current = destination; space.parent(current) != -1; current = space.parent(current)) {
+			hops++;
+		}
+		ArrayList<String> path = new ArrayList<String>(hops);
+		for(int current = destination; space.parent(current) != -1; current = space.parent(current)) {
+			path.add(describeArc(space.parent(current), space.arc(current)));
+		}
+		Collections.reverse(path);
+		return path;
+	}
+
+	//returns the "X via R to Y N mi" string for an arc leaving from
+	String describeArc(int from, int arc) {
+		return towns[from].getName() + " via " + arcName(arc) + " to "
+				+ towns[targets[arc]].getName() + " " + weights[arc] + " mi";
+	}
+
+	//returns the "X via R to Y N mi" string for an in-arc entering to
+	String describeInArc(int to, int inArc) {
+		return towns[inSources[inArc]].getName() + " via " + inArcName(inArc) + " to "
+				+ towns[to].getName() + " " + inWeights[inArc] + " mi";
+	}
+
+	/**
+	 * Find the shortest path from the sourceVertex to the destinationVertex
+	 * with Dijkstra, stopping once the destination is settled. The search
+	 * runs in this thread's QueryWorkspace.
+	 * @param sourceVertex starting vertex
+	 * @param destinationVertex ending vertex
+	 * @return the path in "X via R to Y N mi" form, or null if either town is
+	 * missing or there is no path
+	 */
+	public ArrayList<String> shortestPath(Town sourceVertex, Town destinationVertex) {
+		int source = idOf(sourceVertex);
+		int destination = idOf(destinationVertex);
+		if(source == -1 || destination == -1)
+			return null;
+		QueryWorkspace workspace = QueryWorkspace.acquire(towns.length);
+		try {
+			QueryWorkspace.SearchSpace space = workspace.forward;
+			IndexedMinHeap heap = space.heap;
+			space.reach(source, 0, -1, -1);
+			heap.insertOrDecrease(source, 0);
+			while(!heap.isEmpty()) {
+				int current = heap.poll();
+				workspace.settled++;
+				if(current == destination)
+					break;
+				long currentDistance = space.distance(current);
+				workspace.relaxed += offsets[current + 1] - offsets[current];
+				for(int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+					int next = targets[arc];
+					long candidate = currentDistance + weights[arc];
+					if(candidate < space.distance(next)) {
+						space.reach(next, candidate, arc, current);
+						heap.insertOrDecrease(next, candidate);
+					}
+				}
+			}
+			return describePath(destination, space);
+		}
+		finally {
+			workspace.release();
+		}
+	}
+
+}
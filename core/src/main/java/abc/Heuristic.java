@@ -0,0 +1,73 @@
+package abc;
+
+/**
+ * Lower bound on the distance between two towns of a snapshot, used by
+ * AStarSearch to steer toward the destination. An estimate must never be
+ * more than the true shortest distance, or A* may return a longer path.
+ */
+public interface Heuristic {
+
+	/** Mean radius of the earth in miles. */
+	public static final double EARTH_RADIUS_MILES = 3958.8;
+
+	/**
+	 * Returns a lower bound on the distance from vertex to target.
+	 * @param graph snapshot being searched
+	 * @param vertex dense id of the town being estimated
+	 * @param target dense id of the destination
+	 * @return a distance no larger than the shortest path, in miles
+	 */
+	public long estimate(GraphSnapshot graph, int vertex, int target);
+
+	/**
+	 * Returns the heuristic that always estimates 0, which makes A* behave
+	 * like Dijkstra.
+	 * @return the zero heuristic
+	 */
+	public static Heuristic zero() {
+		return (graph, vertex, target) -> 0;
+	}
+
+	/**
+	 * Returns the straight-line distance between planar coordinates, scaled
+	 * to miles. Towns without coordinates are estimated as 0.
+	 * @param milesPerUnit miles per coordinate unit; roads must be no
+	 * shorter than the scaled straight line between their towns
+	 * @return the Euclidean heuristic
+	 */
+	public static Heuristic euclidean(double milesPerUnit) {
+		return (graph, vertex, target) -> {
+			Town from = graph.townAt(vertex);
+			Town to = graph.townAt(target);
+			if(!from.hasCoordinates() || !to.hasCoordinates())
+				return 0;
+			double dx = from.getX() - to.getX();
+			double dy = from.getY() - to.getY();
+			return (long) (Math.sqrt(dx * dx + dy * dy) * milesPerUnit);
+		};
+	}
+
+	/**
+	 * Returns the great-circle distance in miles between towns whose x is
+	 * latitude and y is longitude, in degrees. Towns without coordinates
+	 * are estimated as 0.
+	 * @return the haversine heuristic
+	 */
+	public static Heuristic haversine() {
+		return (graph, vertex, target) -> {
+			Town from = graph.townAt(vertex);
+			Town to = graph.townAt(target);
+			if(!from.hasCoordinates() || !to.hasCoordinates())
+				return 0;
+			double lat1 = Math.toRadians(from.getX());
+			double lat2 = Math.toRadians(to.getX());
+			double dLat = lat2 - lat1;
+			double dLon = Math.toRadians(to.getY() - from.getY());
+			double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+					+ Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+			double miles = 2 * EARTH_RADIUS_MILES * Math.asin(Math.min(1, Math.sqrt(a)));
+			return (long) miles;
+		};
+	}
+
+}
@@ -0,0 +1,130 @@
+package abc;
+
+/*
+ *InMemoryMetrics class
+ *
+ * Default RoutingMetrics. Keeps latency, settled town and relaxed arc
+ * histograms for all queries together and for each routing algorithm on
+ * its own, and running totals of road file imports.
+ *
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class InMemoryMetrics implements RoutingMetrics {
+
+	private static final int ALGORITHMS = RoutingAlgorithm.values().length;
+
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final LatencyHistogram settled = new LatencyHistogram();
+	private final LatencyHistogram relaxed = new LatencyHistogram();
+	private final LatencyHistogram[] latencyByAlgorithm = histograms();
+	private final LatencyHistogram[] settledByAlgorithm = histograms();
+	private final LatencyHistogram[] relaxedByAlgorithm = histograms();
+
+	private final LongAdder imports = new LongAdder();
+	private final LongAdder importedRoads = new LongAdder();
+	private final LongAdder importedBytes = new LongAdder();
+	private final LongAdder importNanos = new LongAdder();
+
+	private static LatencyHistogram[] histograms() {
+		LatencyHistogram[] histograms = new LatencyHistogram[ALGORITHMS];
+		for(int i = 0; i < ALGORITHMS; i++) {
+			histograms[i] = new LatencyHistogram();
+		}
+		return histograms;
+	}
+
+	@Override
+	public void recordQuery(RoutingAlgorithm algorithm, long nanos, int settled, long relaxed) {
+		int a = algorithm.ordinal();
+		latency.record(nanos);
+		latencyByAlgorithm[a].record(nanos);
+		this.settled.record(settled);
+		settledByAlgorithm[a].record(settled);
+		this.relaxed.record(relaxed);
+		relaxedByAlgorithm[a].record(relaxed);
+	}
+
+	@Override
+	public void recordImport(long roads, long bytes, long nanos) {
+		imports.increment();
+		importedRoads.add(roads);
+		importedBytes.add(bytes);
+		importNanos.add(nanos);
+	}
+
+	//returns query latencies in nanoseconds, all algorithms together
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	//returns query latencies in nanoseconds of one algorithm
+	public LatencyHistogram getLatency(RoutingAlgorithm algorithm) {
+		return latencyByAlgorithm[algorithm.ordinal()];
+	}
+
+	//returns towns settled per query, all algorithms together
+	public LatencyHistogram getSettled() {
+		return settled;
+	}
+
+	//returns towns settled per query of one algorithm
+	public LatencyHistogram getSettled(RoutingAlgorithm algorithm) {
+		return settledByAlgorithm[algorithm.ordinal()];
+	}
+
+	//returns arcs relaxed per query, all algorithms together
+	public LatencyHistogram getRelaxed() {
+		return relaxed;
+	}
+
+	//returns arcs relaxed per query of one algorithm
+	public LatencyHistogram getRelaxed(RoutingAlgorithm algorithm) {
+		return relaxedByAlgorithm[algorithm.ordinal()];
+	}
+
+	//returns number of road files imported
+	public long getImportCount() {
+		return imports.sum();
+	}
+
+	//returns roads read by all imports
+	public long getImportedRoads() {
+		return importedRoads.sum();
+	}
+
+	//returns bytes read by all imports
+	public long getImportedBytes() {
+		return importedBytes.sum();
+	}
+
+	//returns roads imported per second over all imports, 0 if none
+	public double getImportRoadsPerSecond() {
+		long nanos = importNanos.sum();
+		return nanos == 0 ? 0 : importedRoads.sum() * 1e9 / nanos;
+	}
+
+	//returns bytes imported per second over all imports, 0 if none
+	public double getImportBytesPerSecond() {
+		long nanos = importNanos.sum();
+		return nanos == 0 ? 0 : importedBytes.sum() * 1e9 / nanos;
+	}
+
+	//forgets every query and import recorded
+	public void reset() {
+		latency.reset();
+		settled.reset();
+		relaxed.reset();
+		for(int i = 0; i < ALGORITHMS; i++) {
+			latencyByAlgorithm[i].reset();
+			settledByAlgorithm[i].reset();
+			relaxedByAlgorithm[i].reset();
+		}
+		imports.reset();
+		importedRoads.reset();
+		importedBytes.reset();
+		importNanos.reset();
+	}
+
+}
@@ -0,0 +1,158 @@
+package abc;
+
+/*
+ *IndexedMinHeap class
+ *
+ * A 4-ary min heap of dense integer ids ordered by a long key. Each id can
+ * be in the heap at most once, and its key can be lowered in place, which
+ * is what Dijkstra's relax step needs.
+ *
+ */
+
+import java.util.Arrays;
+
+public class IndexedMinHeap {
+
+	private static final int ARITY = 4;
+
+	private int[] heap;
+	private int[] position;
+	private long[] keys;
+	private int size;
+
+	public IndexedMinHeap(int capacity) {
+		heap = new int[capacity];
+		position = new int[capacity];
+		keys = new long[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	//returns number of ids in the heap
+	public int size() {
+		return size;
+	}
+
+	//returns true if the heap has no ids
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	//returns true if id is currently in the heap
+	public boolean contains(int id) {
+		return position[id] != -1;
+	}
+
+	//returns the key id was last inserted or decreased with
+	public long keyOf(int id) {
+		return keys[id];
+	}
+
+	/**
+	 * Inserts id with the given key, or lowers its key if it is already in
+	 * the heap with a larger one. A larger key for an id already in the heap
+	 * is ignored.
+	 * @param id dense id, less than the heap capacity
+	 * @param key priority of the id
+	 * @return true if the heap changed
+	 */
+	public boolean insertOrDecrease(int id, long key) {
+		int pos = position[id];
+		if(pos == -1) {
+			keys[id] = key;
+			heap[size] = id;
+			position[id] = size;
+			siftUp(size++);
+			return true;
+		}
+		if(key < keys[id]) {
+			keys[id] = key;
+			siftUp(pos);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the id with the smallest key without removing it.
+	 * @return the id with the smallest key
+	 * @throws IllegalStateException if the heap is empty
+	 */
+	public int peek() {
+		if(size == 0)
+			throw new IllegalStateException();
+		return heap[0];
+	}
+
+	/**
+	 * Removes and returns the id with the smallest key.
+	 * @return the id with the smallest key
+	 * @throws IllegalStateException if the heap is empty
+	 */
+	public int poll() {
+		if(size == 0)
+			throw new IllegalStateException();
+		int min = heap[0];
+		position[min] = -1;
+		size--;
+		if(size > 0) {
+			int last = heap[size];
+			heap[0] = last;
+			position[last] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	//empties the heap, only touching the ids still in it
+	public void clear() {
+		for(int i = 0; i < size; i++) {
+			position[heap[i]] = -1;
+		}
+		size = 0;
+	}
+
+	private void siftUp(int pos) {
+		int id = heap[pos];
+		long key = keys[id];
+		while(pos > 0) {
+			int parentPos = (pos - 1) / ARITY;
+			int parent = heap[parentPos];
+			if(keys[parent] <= key)
+				break;
+			heap[pos] = parent;
+			position[parent] = pos;
+			pos = parentPos;
+		}
+		heap[pos] = id;
+		position[id] = pos;
+	}
+
+	private void siftDown(int pos) {
+		int id = heap[pos];
+		long key = keys[id];
+		while(true) {
+			int firstChild = pos * ARITY + 1;
+			if(firstChild >= size)
+				break;
+			int lastChild = Math.min(firstChild + ARITY, size);
+			int minPos = firstChild;
+			long minKey = keys[heap[firstChild]];
+			for(int c = firstChild + 1; c < lastChild; c++) {
+				long childKey = keys[heap[c]];
+				if(childKey < minKey) {
+					minKey = childKey;
+					minPos = c;
+				}
+			}
+			if(minKey >= key)
+				break;
+			int child = heap[minPos];
+			heap[pos] = child;
+			position[child] = pos;
+			pos = minPos;
+		}
+		heap[pos] = id;
+		position[id] = pos;
+	}
+
+}
@@ -0,0 +1,86 @@
+package abc;
+
+/*
+ *JmxMetrics class
+ *
+ * InMemoryMetrics that also registers itself with the platform MBean
+ * server as abc:type=RoutingMetrics,name=<name>, so the histograms can be
+ * watched from jconsole or any other JMX client.
+ *
+ */
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class JmxMetrics extends InMemoryMetrics implements RoutingMetricsMXBean {
+
+	private final ObjectName objectName;
+
+	/**
+	 * Creates metrics and registers them with the platform MBean server.
+	 * @param name value of the name key of the MBean's object name
+	 * @throws JMException if the name is malformed or already registered
+	 */
+	public JmxMetrics(String name) throws JMException {
+		objectName = new ObjectName("abc:type=RoutingMetrics,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+	}
+
+	//returns the object name the metrics are registered under
+	public ObjectName getObjectName() {
+		return objectName;
+	}
+
+	/**
+	 * Removes the metrics from the platform MBean server.
+	 * @throws JMException if they are no longer registered
+	 */
+	public void unregister() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		server.unregisterMBean(objectName);
+	}
+
+	@Override
+	public long getQueryCount() {
+		return getLatency().getCount();
+	}
+
+	@Override
+	public double getMeanLatency() {
+		return getLatency().getMean();
+	}
+
+	@Override
+	public long getLatencyP50() {
+		return getLatency().getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getLatencyP99() {
+		return getLatency().getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getLatencyP999() {
+		return getLatency().getValueAtPercentile(99.9);
+	}
+
+	@Override
+	public long getMaxLatency() {
+		return getLatency().getMax();
+	}
+
+	@Override
+	public double getMeanSettled() {
+		return getSettled().getMean();
+	}
+
+	@Override
+	public double getMeanRelaxed() {
+		return getRelaxed().getMean();
+	}
+
+}
@@ -0,0 +1,335 @@
+package abc;
+
+/*
+ *LandmarkTable class
+ *
+ * ALT (A*, landmarks, triangle inequality) heuristic. A few landmark towns
+ * are picked farthest-first, and the distance from every landmark to every
+ * town and from every town to every landmark is stored in flat int
+ * arrays. For any landmark L the triangle inequality gives
+ *
+ *   d(v, t) >= d(L, t) - d(L, v)   and   d(v, t) >= d(v, L) - d(t, L)
+ *
+ * and the largest of these bounds is the estimate. It needs no
+ * coordinates, only the road network itself.
+ *
+ * A table belongs to the snapshot it was computed on or loaded for; asked
+ * about any other snapshot it estimates 0, which is always safe. Saved
+ * tables carry a fingerprint of the roads and their weights, since bounds
+ * computed before a road got shorter can overestimate and make ALT return
+ * a longer path.
+ *
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+
+public class LandmarkTable implements Heuristic {
+
+	static final int MAGIC = 0x4C4D524B;
+	static final int FORMAT_VERSION = 1;
+	//stored for pairs with no path, or too far apart for an int
+	static final int INFINITY = Integer.MAX_VALUE;
+
+	private final GraphSnapshot graph;
+	private final int[] landmarks;
+	//distance from landmark l to id v at [l * n + v]
+	private final int[] fromLandmark;
+	//distance from id v to landmark l at [l * n + v]
+	private final int[] toLandmark;
+
+	private LandmarkTable(GraphSnapshot graph, int[] landmarks, int[] fromLandmark, int[] toLandmark) {
+		this.graph = graph;
+		this.landmarks = landmarks;
+		this.fromLandmark = fromLandmark;
+		this.toLandmark = toLandmark;
+	}
+
+	/**
+	 * Picks landmarks farthest-first and computes their distance tables.
+	 * The first landmark is the town farthest from an arbitrary town; each
+	 * next one is the town farthest from all landmarks chosen so far, and
+	 * towns no landmark reaches are taken before any other.
+	 * @param graph snapshot to compute the table for
+	 * @param count number of landmarks wanted
+	 * @return the table, with fewer landmarks if the graph has fewer towns
+	 */
+	public static LandmarkTable compute(GraphSnapshot graph, int count) {
+		if(count < 1)
+			throw new IllegalArgumentException();
+		int n = graph.idCount();
+		long[] distance = new long[n];
+		IndexedMinHeap heap = new IndexedMinHeap(n);
+		long[] nearestLandmark = new long[n];
+		Arrays.fill(nearestLandmark, GraphSnapshot.UNREACHABLE);
+
+		int start = -1;
+		for(int v = 0; v < n && start == -1; v++) {
+			if(graph.townAt(v) != null)
+				start = v;
+		}
+		if(start == -1)
+			return new LandmarkTable(graph, new int[0], new int[0], new int[0]);
+		search(graph, start, false, distance, heap);
+		int next = farthest(graph, distance, null);
+
+		int[] chosen = new int[count];
+		int[] from = new int[count * n];
+		int[] to = new int[count * n];
+		int k = 0;
+		while(k < count && next != -1) {
+			chosen[k] = next;
+			search(graph, next, true, distance, heap);
+			store(distance, to, k * n);
+			search(graph, next, false, distance, heap);
+			store(distance, from, k * n);
+			for(int v = 0; v < n; v++) {
+				nearestLandmark[v] = Math.min(nearestLandmark[v], distance[v]);
+			}
+			k++;
+			next = farthest(graph, nearestLandmark, Arrays.copyOf(chosen, k));
+		}
+		return new LandmarkTable(graph, Arrays.copyOf(chosen, k),
+				Arrays.copyOf(from, k * n), Arrays.copyOf(to, k * n));
+	}
+
+	//returns the town with the largest distance, unreachable counting as largest
+	private static int farthest(GraphSnapshot graph, long[] distance, int[] exclude) {
+		int best = -1;
+		for(int v = 0; v < graph.idCount(); v++) {
+			if(graph.townAt(v) == null || contains(exclude, v))
+				continue;
+			if(best == -1 || distance[v] > distance[best])
+				best = v;
+		}
+		return best;
+	}
+
+	private static boolean contains(int[] values, int value) {
+		if(values == null)
+			return false;
+		for(int v : values) {
+			if(v == value)
+				return true;
+		}
+		return false;
+	}
+
+	private static void store(long[] distance, int[] table, int offset) {
+		for(int v = 0; v < distance.length; v++) {
+			table[offset + v] = distance[v] >= INFINITY ? INFINITY : (int) distance[v];
+		}
+	}
+
+	//full Dijkstra over out-arcs, or over in-arcs for distances to source
+	private static void search(GraphSnapshot graph, int source, boolean backward, long[] distance, IndexedMinHeap heap) {
+		Arrays.fill(distance, GraphSnapshot.UNREACHABLE);
+		distance[source] = 0;
+		heap.insertOrDecrease(source, 0);
+		while(!heap.isEmpty()) {
+			int current = heap.poll();
+			int first = backward ? graph.firstInArc(current) : graph.firstArc(current);
+			int end = backward ? graph.endInArc(current) : graph.endArc(current);
+			for(int arc = first; arc < end; arc++) {
+				int next = backward ? graph.inArcSource(arc) : graph.arcTarget(arc);
+				long candidate = distance[current] + (backward ? graph.inArcWeight(arc) : graph.arcWeight(arc));
+				if(candidate < distance[next]) {
+					distance[next] = candidate;
+					heap.insertOrDecrease(next, candidate);
+				}
+			}
+		}
+	}
+
+	//returns the snapshot the table belongs to
+	public GraphSnapshot getGraph() {
+		return graph;
+	}
+
+	//returns number of landmarks
+	public int getLandmarkCount() {
+		return landmarks.length;
+	}
+
+	//returns landmark i
+	public Town getLandmark(int i) {
+		return graph.townAt(landmarks[i]);
+	}
+
+	/**
+	 * Returns the largest triangle inequality lower bound over all
+	 * landmarks.
+	 * @param graph snapshot being searched
+	 * @param vertex dense id of the town being estimated
+	 * @param target dense id of the destination
+	 * @return a lower bound on the distance, 0 if graph is not this table's snapshot
+	 */
+	@Override
+	public long estimate(GraphSnapshot graph, int vertex, int target) {
+		if(graph != this.graph)
+			return 0;
+		int n = graph.idCount();
+		long best = 0;
+		for(int l = 0, offset = 0; l < landmarks.length; l++, offset += n) {
+			int fromV = fromLandmark[offset + vertex];
+			int fromT = fromLandmark[offset + target];
+			if(fromT != INFINITY && fromV != INFINITY)
+				best = Math.max(best, (long) fromT - fromV);
+			int toV = toLandmark[offset + vertex];
+			int toT = toLandmark[offset + target];
+			if(toV != INFINITY && toT != INFINITY)
+				best = Math.max(best, (long) toV - toT);
+		}
+		return best;
+	}
+
+	//sums a hash of every arc's towns and weight, so it does not depend on dense ids
+	static long fingerprint(GraphSnapshot graph) {
+		long sum = 0;
+		for(int v = 0; v < graph.idCount(); v++) {
+			if(graph.townAt(v) == null)
+				continue;
+			long source = graph.townAt(v).getName().hashCode();
+			for(int arc = graph.firstArc(v); arc < graph.endArc(v); arc++) {
+				long hash = source * 0x9E3779B97F4A7C15L + graph.townAt(graph.arcTarget(arc)).getName().hashCode();
+				hash = (hash ^ (hash >>> 29)) * 0xBF58476D1CE4E5B9L + graph.arcWeight(arc);
+				sum += hash ^ (hash >>> 32);
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Writes the table next to a graph file. Rows are stored by town name,
+	 * so the table can be loaded for any snapshot of the same graph, and the
+	 * header holds the road count and a checksum of the roads' weights.
+	 * @param path file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(Path path) throws IOException {
+		int n = graph.idCount();
+		try(OutputStream file = Files.newOutputStream(path)) {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			int towns = 0;
+			for(int v = 0; v < n; v++) {
+				if(graph.townAt(v) != null)
+					towns++;
+			}
+			GraphFile.writeVarint(out, towns);
+			GraphFile.writeVarint(out, landmarks.length);
+			GraphFile.writeVarint(out, graph.edgeCount());
+			out.writeLong(fingerprint(graph));
+			for(int v = 0; v < n; v++) {
+				if(graph.townAt(v) != null)
+					GraphFile.writeString(out, graph.townAt(v).getName());
+			}
+			for(int landmark : landmarks) {
+				GraphFile.writeString(out, graph.townAt(landmark).getName());
+			}
+			for(int l = 0; l < landmarks.length; l++) {
+				for(int v = 0; v < n; v++) {
+					if(graph.townAt(v) != null) {
+						out.writeInt(fromLandmark[l * n + v]);
+						out.writeInt(toLandmark[l * n + v]);
+					}
+				}
+			}
+			out.flush();
+		}
+	}
+
+	/**
+	 * Reads a table written by save and attaches it to a snapshot of the
+	 * same graph.
+	 * @param path file to read
+	 * @param graph snapshot the table is for
+	 * @return the table
+	 * @throws IOException if the file cannot be read, or its towns, roads
+	 * or weights are not those of the snapshot
+	 */
+	public static LandmarkTable load(Path path, GraphSnapshot graph) throws IOException {
+		ByteBuffer in;
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if(channel.size() > Integer.MAX_VALUE)
+				throw new IOException("landmark file too large: " + path);
+			in = ByteBuffer.allocate((int) channel.size());
+			while(in.hasRemaining()) {
+				if(channel.read(in) == -1)
+					throw new EOFException();
+			}
+			in.flip();
+		}
+		try {
+			return read(in, graph);
+		}
+		catch(BufferUnderflowException e) {
+			throw new EOFException("truncated landmark file: " + path);
+		}
+	}
+
+	private static LandmarkTable read(ByteBuffer in, GraphSnapshot graph) throws IOException {
+		if(in.remaining() < 8 || in.getInt() != MAGIC)
+			throw new IOException("not a landmark file");
+		int formatVersion = in.getInt();
+		if(formatVersion != FORMAT_VERSION)
+			throw new IOException("unsupported landmark file version " + formatVersion);
+		int towns = GraphFile.readVarint(in);
+		int count = GraphFile.readVarint(in);
+		int edges = GraphFile.readVarint(in);
+		long fingerprint = in.getLong();
+		int n = graph.idCount();
+		int[] rowIds = new int[towns];
+		HashMap<String, Integer> rowOfName = new HashMap<String, Integer>();
+		for(int row = 0; row < towns; row++) {
+			String name = GraphFile.readString(in);
+			rowIds[row] = graph.idOf(new Town(name));
+			if(rowIds[row] == -1)
+				throw new IOException("landmark file does not match graph: unknown town " + name);
+			rowOfName.put(name, row);
+		}
+		int present = 0;
+		for(int v = 0; v < n; v++) {
+			if(graph.townAt(v) != null)
+				present++;
+		}
+		if(present != towns)
+			throw new IOException("landmark file does not match graph: " + towns + " towns, graph has " + present);
+		if(edges != graph.edgeCount())
+			throw new IOException("landmark file does not match graph: " + edges + " roads, graph has " + graph.edgeCount());
+		if(fingerprint != fingerprint(graph))
+			throw new IOException("landmark file does not match graph: road weights have changed");
+		int[] landmarks = new int[count];
+		for(int l = 0; l < count; l++) {
+			String name = GraphFile.readString(in);
+			Integer row = rowOfName.get(name);
+			if(row == null)
+				throw new IOException("landmark file names unknown landmark " + name);
+			landmarks[l] = rowIds[row];
+		}
+		int[] from = new int[count * n];
+		int[] to = new int[count * n];
+		Arrays.fill(from, INFINITY);
+		Arrays.fill(to, INFINITY);
+		for(int l = 0; l < count; l++) {
+			for(int row = 0; row < towns; row++) {
+				from[l * n + rowIds[row]] = in.getInt();
+				to[l * n + rowIds[row]] = in.getInt();
+			}
+		}
+		return new LandmarkTable(graph, landmarks, from, to);
+	}
+
+}
@@ -0,0 +1,121 @@
+package abc;
+
+/*
+ *LatencyHistogram class
+ *
+ * Histogram of non-negative long values in the style of HdrHistogram.
+ * Values below 128 get a bucket each; above that every power of two is
+ * split into 64 equal buckets, so any value is reported within 1/64 of
+ * what was recorded while the whole long range fits in a few thousand
+ * counters. Recording is lock-free and safe from any number of threads.
+ *
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int HALF = SUB_BUCKETS / 2;
+	private static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * HALF;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	//returns the bucket of value
+	static int indexOf(long value) {
+		if(value < SUB_BUCKETS)
+			return (int) value;
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+		return SUB_BUCKETS + (shift - 1) * HALF + (int) ((value >>> shift) - HALF);
+	}
+
+	//returns the smallest value that falls in bucket index
+	static long lowestValueAt(int index) {
+		if(index < SUB_BUCKETS)
+			return index;
+		int shift = (index - SUB_BUCKETS) / HALF + 1;
+		long subBucket = (index - SUB_BUCKETS) % HALF + HALF;
+		return subBucket << shift;
+	}
+
+	//returns the largest value that falls in bucket index
+	static long highestValueAt(int index) {
+		if(index + 1 == BUCKET_COUNT)
+			return Long.MAX_VALUE;
+		return lowestValueAt(index + 1) - 1;
+	}
+
+	/**
+	 * Records one value.
+	 * @param value the value, negative values are recorded as 0
+	 */
+	public void record(long value) {
+		value = Math.max(0, value);
+		counts.incrementAndGet(indexOf(value));
+		count.increment();
+		sum.add(value);
+		if(value > max.get())
+			max.accumulateAndGet(value, Math::max);
+	}
+
+	//returns number of values recorded
+	public long getCount() {
+		return count.sum();
+	}
+
+	//returns the largest value recorded, 0 if none
+	public long getMax() {
+		return max.get();
+	}
+
+	//returns the mean of the values recorded, 0 if none
+	public double getMean() {
+		long n = count.sum();
+		return n == 0 ? 0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * Returns the value at or below which the given percentage of recorded
+	 * values fall, to within the histogram's precision.
+	 * @param percentile percentage between 0 and 100
+	 * @return the value, 0 if nothing was recorded
+	 * @throws IllegalArgumentException if percentile is outside 0 to 100
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if(percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException();
+		long total = 0;
+		long[] snapshot = new long[BUCKET_COUNT];
+		for(int i = 0; i < BUCKET_COUNT; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if(total == 0)
+			return 0;
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for(int i = 0; i < BUCKET_COUNT; i++) {
+			seen += snapshot[i];
+			if(seen >= target)
+				return Math.min(highestValueAt(i), getMax());
+		}
+		return getMax();
+	}
+
+	//forgets every recorded value
+	public void reset() {
+		for(int i = 0; i < BUCKET_COUNT; i++) {
+			counts.set(i, 0);
+		}
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+
+}
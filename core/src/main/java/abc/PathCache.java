@@ -0,0 +1,224 @@
+package abc;
+
+/*
+ *PathCache class
+ *
+ * Bounded least-recently-used cache of shortest path results keyed by
+ * (source, destination) town names. Every entry belongs to one graph
+ * version; the first lookup made against a newer version empties the
+ * cache, so a modified graph never returns stale paths. Lookups and puts
+ * from a query still running on an older version miss and are dropped.
+ *
+ * The cache is split into segments by key, each its own LRU map with its
+ * own lock and a share of the capacity, so concurrent getPath calls only
+ * contend when their keys land in the same segment. Paths are copied
+ * outside the locks, and entries carry their version, so a put racing
+ * with the emptying of the cache can never leave a stale path behind.
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PathCache {
+
+	//most segments a cache is split into
+	private static final int SEGMENTS = 16;
+
+	private final int capacity;
+	private final Segment[] segments;
+	private final AtomicLong version = new AtomicLong();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder invalidations = new LongAdder();
+
+	public PathCache(int capacity) {
+		if(capacity < 1)
+			throw new IllegalArgumentException();
+		this.capacity = capacity;
+		//the capacity is shared out so the segments together hold at most capacity paths
+		segments = new Segment[Math.min(SEGMENTS, capacity)];
+		for(int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment(capacity / segments.length + (i < capacity % segments.length ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Returns a copy of the cached path between the towns.
+	 * @param source name of the first town
+	 * @param destination name of the last town
+	 * @param graphVersion current version of the graph
+	 * @return the cached path, or null on a miss
+	 */
+	public ArrayList<String> get(String source, String destination, long graphVersion) {
+		ArrayList<String> path = null;
+		if(validate(graphVersion)) {
+			RouteKey key = new RouteKey(source, destination);
+			Segment segment = segmentOf(key);
+			synchronized(segment) {
+				Entry entry = segment.get(key);
+				if(entry != null && entry.version == graphVersion)
+					path = entry.path;
+			}
+		}
+		if(path == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return new ArrayList<String>(path);
+	}
+
+	/**
+	 * Caches a copy of the path between the towns.
+	 * @param source name of the first town
+	 * @param destination name of the last town
+	 * @param graphVersion version of the graph the path was computed on
+	 * @param path the path
+	 */
+	public void put(String source, String destination, long graphVersion, ArrayList<String> path) {
+		if(!validate(graphVersion))
+			return;
+		RouteKey key = new RouteKey(source, destination);
+		Entry entry = new Entry(graphVersion, new ArrayList<String>(path));
+		Segment segment = segmentOf(key);
+		synchronized(segment) {
+			segment.put(key, entry);
+		}
+	}
+
+	//removes every entry
+	public void clear() {
+		boolean removed = false;
+		for(Segment segment : segments) {
+			synchronized(segment) {
+				removed |= !segment.isEmpty();
+				segment.clear();
+			}
+		}
+		if(removed)
+			invalidations.increment();
+	}
+
+	//returns number of cached paths
+	public int size() {
+		int size = 0;
+		for(Segment segment : segments) {
+			synchronized(segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	//returns the most paths kept at once
+	public int getCapacity() {
+		return capacity;
+	}
+
+	//returns number of lookups that found a path
+	public long getHits() {
+		return hits.sum();
+	}
+
+	//returns number of lookups that found nothing
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	//returns number of paths dropped to make room
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	//returns number of times the cache was emptied because the graph changed
+	public long getInvalidations() {
+		return invalidations.sum();
+	}
+
+	//drops every entry if the graph changed since they were cached, returns false for an older version
+	private boolean validate(long graphVersion) {
+		long current = version.get();
+		while(graphVersion > current) {
+			//only the thread that moves the version on empties the cache
+			if(version.compareAndSet(current, graphVersion)) {
+				clear();
+				return true;
+			}
+			current = version.get();
+		}
+		return graphVersion == current;
+	}
+
+	//returns the segment holding key
+	private Segment segmentOf(RouteKey key) {
+		int hash = key.hashCode();
+		return segments[Math.floorMod(hash ^ (hash >>> 16), segments.length)];
+	}
+
+	//one least-recently-used share of the cache, guarded by its own lock
+	private final class Segment extends LinkedHashMap<RouteKey, Entry> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<RouteKey, Entry> eldest) {
+			if(size() > capacity) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+
+	}
+
+	//a cached path and the graph version it was computed on, never changed once cached
+	private static final class Entry {
+
+		private final long version;
+		private final ArrayList<String> path;
+
+		Entry(long version, ArrayList<String> path) {
+			this.version = version;
+			this.path = path;
+		}
+
+	}
+
+	private static final class RouteKey {
+
+		private final String source;
+		private final String destination;
+
+		RouteKey(String source, String destination) {
+			this.source = source;
+			this.destination = destination;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if(!(o instanceof RouteKey))
+				return false;
+			RouteKey key = (RouteKey) o;
+			return source.equals(key.source) && destination.equals(key.destination);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * source.hashCode() + destination.hashCode();
+		}
+
+	}
+
+}
@@ -0,0 +1,150 @@
+package abc;
+
+/*
+ *QueryWorkspace class
+ *
+ * Scratch arrays for one point-to-point query: a forward and a backward
+ * search space, each with distance, arc, parent and heap arrays, plus two
+ * int lists for building paths. Each thread keeps one workspace and
+ * reuses it for every query, so a warm query allocates nothing but its
+ * result and queries on different threads never share state.
+ *
+ * Nothing is cleared between queries. Every entry carries the generation
+ * it was written in, and entries from an older generation read as
+ * unreached, so starting a query costs O(1) however big the graph is.
+ *
+ * Searches also count the towns they settle and the arcs they relax in
+ * the workspace; lastSettledCount and lastRelaxedCount read them back for
+ * the calling thread's most recent query.
+ *
+ */
+
+import java.util.Arrays;
+
+public final class QueryWorkspace {
+
+	private static final ThreadLocal<QueryWorkspace> POOL = new ThreadLocal<QueryWorkspace>();
+
+	final SearchSpace forward = new SearchSpace();
+	final SearchSpace backward = new SearchSpace();
+	final ContractionHierarchy.IntList edges = new ContractionHierarchy.IntList();
+	final ContractionHierarchy.IntList stack = new ContractionHierarchy.IntList();
+	//towns taken from a heap and arcs looked at by the query using the workspace
+	int settled;
+	long relaxed;
+	private boolean inUse;
+
+	private QueryWorkspace() {
+	}
+
+	/**
+	 * Returns this thread's workspace, sized for ids below capacity and
+	 * with both search spaces empty. If the thread's workspace is already
+	 * taken by a query further up the stack, a new one is returned instead.
+	 * @param capacity number of dense ids the query can touch
+	 * @return a workspace that must be given back with release
+	 */
+	public static QueryWorkspace acquire(int capacity) {
+		QueryWorkspace workspace = POOL.get();
+		if(workspace == null) {
+			workspace = new QueryWorkspace();
+			POOL.set(workspace);
+		}
+		else if(workspace.inUse) {
+			workspace = new QueryWorkspace();
+		}
+		workspace.inUse = true;
+		workspace.settled = 0;
+		workspace.relaxed = 0;
+		workspace.forward.reset(capacity);
+		workspace.backward.reset(capacity);
+		workspace.edges.clear();
+		workspace.stack.clear();
+		return workspace;
+	}
+
+	//gives the workspace back to its thread
+	public void release() {
+		inUse = false;
+	}
+
+	//zeroes this thread's counts for a query answered without searching
+	static void clearCounts() {
+		QueryWorkspace workspace = POOL.get();
+		if(workspace != null && !workspace.inUse) {
+			workspace.settled = 0;
+			workspace.relaxed = 0;
+		}
+	}
+
+	//returns how many towns this thread's most recent query settled
+	public static int lastSettledCount() {
+		QueryWorkspace workspace = POOL.get();
+		return workspace == null ? 0 : workspace.settled;
+	}
+
+	//returns how many arcs this thread's most recent query relaxed
+	public static long lastRelaxedCount() {
+		QueryWorkspace workspace = POOL.get();
+		return workspace == null ? 0 : workspace.relaxed;
+	}
+
+	//distances, arcs and parents of one search, valid for the current generation only
+	static final class SearchSpace {
+
+		private long[] distance = new long[0];
+		private int[] arc = new int[0];
+		private int[] parent = new int[0];
+		private int[] generationOf = new int[0];
+		private int generation;
+		IndexedMinHeap heap = new IndexedMinHeap(0);
+
+		//starts a new generation, growing the arrays to capacity if needed
+		void reset(int capacity) {
+			if(generationOf.length < capacity) {
+				int size = Math.max(capacity, generationOf.length * 3 / 2);
+				distance = new long[size];
+				arc = new int[size];
+				parent = new int[size];
+				generationOf = new int[size];
+				heap = new IndexedMinHeap(size);
+				generation = 0;
+			}
+			heap.clear();
+			if(++generation == Integer.MAX_VALUE) {
+				Arrays.fill(generationOf, 0);
+				generation = 1;
+			}
+		}
+
+		//returns the distance to id, UNREACHABLE if not reached in this generation
+		long distance(int id) {
+			return generationOf[id] == generation ? distance[id] : GraphSnapshot.UNREACHABLE;
+		}
+
+		//returns true if id was reached in this generation
+		boolean reached(int id) {
+			return generationOf[id] == generation;
+		}
+
+		//returns the arc id was reached by
+		int arc(int id) {
+			return arc[id];
+		}
+
+		//returns the id before id on its path, -1 for the start
+		int parent(int id) {
+			return parent[id];
+		}
+
+		//records a shorter distance to id
+		void reach(int id, long distance, int arc, int parent) {
+			generationOf[id] = generation;
+			this.distance[id] = distance;
+			this.arc[id] = arc;
+			this.parent[id] = parent;
+		}
+
+	}
+
+}
@@ -7,6 +7,8 @@ package abc;
  *
  */
 
+import java.util.Objects;
+
 public class Road implements Comparable<Road>{
 
 	
@@ -14,6 +16,8 @@ public class Road implements Comparable<Road>{
 	private Town destination;
 	private int degrees;
 	private String name;
+	//a one-way road only leads from source to destination
+	private boolean oneWay;
 	
 	public Road(Town source, Town destination, int degrees, String name){
 		this.source = source;
@@ -22,6 +26,11 @@ public class Road implements Comparable<Road>{
 		this.name = name;
 	}
 	
+	public Road(Town source, Town destination, int degrees, String name, boolean oneWay){
+		this(source, destination, degrees, name);
+		this.oneWay = oneWay;
+	}
+	
 	//copy constructor
 	public Road(Town source, Town destination, String name) {
 		this.source = source;
@@ -37,6 +46,18 @@ public class Road implements Comparable<Road>{
 		return false;
 	}
 	
+	//returns true if the road can only be driven from source to destination
+	public boolean isOneWay() {
+		return oneWay;
+	}
+	
+	//returns true if the road can be driven starting at town
+	public boolean leadsFrom(Town town) {
+		if(oneWay)
+			return source.equals(town);
+		return contains(town);
+	}
+	
 	
 	//returns name
 	public String toString() {
@@ -76,6 +97,11 @@ public class Road implements Comparable<Road>{
 	       Road road;
 	       if(o instanceof Road) {
 	           road = (Road) o;
+	           //parallel roads between the same towns are told apart by name and direction
+	           if (road.oneWay != oneWay || !Objects.equals(road.getName(), name))
+	        	   return false;
+	           if (oneWay)
+	        	   return road.getSource().equals(source) && road.getDestination().equals(destination);
 	           if (road.contains(this.getSource()) && road.contains(this.getDestination())) {
 	        	   return true;
 	           }
@@ -87,7 +113,8 @@ public class Road implements Comparable<Road>{
 		name = next;		
 	}
 	
-	public void setWeight(int weight){
+	//changes the weight of a road no graph holds yet; roads in a graph are reweighted with Graph.updateWeights
+	void setWeight(int weight){
 		degrees = weight;
 	}
 	
@@ -109,12 +136,16 @@ public class Road implements Comparable<Road>{
 
 	  
 	   /**
-	   * Returns the hash code of the road, which is based on its two towns added together
-	   * @return the hash code of the road, which is based on its two towns added together
+	   * Returns the hash code of the road, which is based on its two towns in
+	   * either order and its name
+	   * @return the hash code of the road, which is based on its two towns in
+	   * either order and its name
 	   */
 	   @Override
 	   public int hashCode() {
-	       return getSource().hashCode() + getDestination().hashCode();
+	       int a = getSource().hashCode();
+	       int b = getDestination().hashCode();
+	       return 31 * (31 * Math.min(a, b) + Math.max(a, b)) + Objects.hashCode(name);
 	   }
 	  
 	   
@@ -0,0 +1,103 @@
+package abc;
+
+/*
+ *RoadBatch class
+ *
+ * Roads parsed from a file, held in parallel arrays until they are added
+ * to a Graph in one go with Graph.addEdges.
+ *
+ */
+
+import java.util.Arrays;
+
+public class RoadBatch {
+
+	private Town[] sources;
+	private Town[] destinations;
+	private int[] weights;
+	private String[] names;
+	private boolean[] oneWay;
+	private int size;
+
+	public RoadBatch() {
+		this(16);
+	}
+
+	public RoadBatch(int capacity) {
+		capacity = Math.max(capacity, 1);
+		sources = new Town[capacity];
+		destinations = new Town[capacity];
+		weights = new int[capacity];
+		names = new String[capacity];
+		oneWay = new boolean[capacity];
+	}
+
+	//adds a two-way road to the batch
+	public void add(Town source, Town destination, int weight, String name) {
+		add(source, destination, weight, name, false);
+	}
+
+	//adds a road to the batch, one-way from source to destination if oneWay is true
+	public void add(Town source, Town destination, int weight, String name, boolean oneWay) {
+		if(size == weights.length)
+			grow(size * 2);
+		sources[size] = source;
+		destinations[size] = destination;
+		weights[size] = weight;
+		names[size] = name;
+		this.oneWay[size] = oneWay;
+		size++;
+	}
+
+	//adds every road of other after the roads already in the batch, in order
+	public void addAll(RoadBatch other) {
+		if(size + other.size > weights.length)
+			grow(Math.max(size + other.size, size * 2));
+		System.arraycopy(other.sources, 0, sources, size, other.size);
+		System.arraycopy(other.destinations, 0, destinations, size, other.size);
+		System.arraycopy(other.weights, 0, weights, size, other.size);
+		System.arraycopy(other.names, 0, names, size, other.size);
+		System.arraycopy(other.oneWay, 0, oneWay, size, other.size);
+		size += other.size;
+	}
+
+	//makes room for capacity roads
+	private void grow(int capacity) {
+		sources = Arrays.copyOf(sources, capacity);
+		destinations = Arrays.copyOf(destinations, capacity);
+		weights = Arrays.copyOf(weights, capacity);
+		names = Arrays.copyOf(names, capacity);
+		oneWay = Arrays.copyOf(oneWay, capacity);
+	}
+
+	//returns number of roads in the batch
+	public int size() {
+		return size;
+	}
+
+	//returns first town of road i
+	public Town getSource(int i) {
+		return sources[i];
+	}
+
+	//returns second town of road i
+	public Town getDestination(int i) {
+		return destinations[i];
+	}
+
+	//returns distance of road i
+	public int getWeight(int i) {
+		return weights[i];
+	}
+
+	//returns name of road i
+	public String getName(int i) {
+		return names[i];
+	}
+
+	//returns true if road i only leads from its first town to its second
+	public boolean isOneWay(int i) {
+		return oneWay[i];
+	}
+
+}
@@ -0,0 +1,154 @@
+package abc;
+
+/*
+ *RoadBucket class
+ *
+ * The roads between one pair of towns, for graphs with parallel roads such
+ * as a highway next to a back road. Roads are kept sorted by weight, then
+ * name, so the first road leading in a direction is the cheapest one that
+ * way; it is the one searches relax. One-way roads of both directions
+ * share the bucket.
+ * Buckets hold a handful of roads, so the array is scanned rather than
+ * hashed.
+ *
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+public class RoadBucket {
+
+	private Road[] roads = new Road[1];
+	private int size;
+
+	//returns number of roads in the bucket
+	public int size() {
+		return size;
+	}
+
+	//returns true if the bucket has no roads
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	//returns the cheapest road that can be driven starting at from, ties going to the lowest name, or null
+	public Road cheapest(Town from) {
+		for(int i = 0; i < size; i++) {
+			if(roads[i].leadsFrom(from))
+				return roads[i];
+		}
+		return null;
+	}
+
+	//returns the road named name that can be driven starting at from, or null
+	public Road get(String name, Town from) {
+		for(int i = 0; i < size; i++) {
+			if(Objects.equals(roads[i].getName(), name) && roads[i].leadsFrom(from))
+				return roads[i];
+		}
+		return null;
+	}
+
+	//returns the position of a road equal to road, or -1
+	private int indexOf(Road road) {
+		for(int i = 0; i < size; i++) {
+			if(roads[i].equals(road))
+				return i;
+		}
+		return -1;
+	}
+
+	//orders roads by weight, then by name with null names first; GraphSnapshot keeps the same road
+	static int compare(Road a, Road b) {
+		int c = Integer.compare(a.getWeight(), b.getWeight());
+		if(c != 0)
+			return c;
+		if(a.getName() == null || b.getName() == null)
+			return a.getName() == null ? (b.getName() == null ? 0 : -1) : 1;
+		return a.getName().compareTo(b.getName());
+	}
+
+	/**
+	 * Adds a road unless one of the same name and direction is already in
+	 * the bucket.
+	 * @param road the road to add
+	 * @return true if the road was added
+	 */
+	public boolean add(Road road) {
+		if(indexOf(road) >= 0)
+			return false;
+		if(size == roads.length)
+			roads = Arrays.copyOf(roads, size * 2);
+		int i = size;
+		while(i > 0 && compare(road, roads[i - 1]) < 0) {
+			roads[i] = roads[i - 1];
+			i--;
+		}
+		roads[i] = road;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Removes a road equal to the given one.
+	 * @param road the road to remove
+	 * @return the road removed, or null if there is no such road
+	 */
+	public Road remove(Road road) {
+		int i = indexOf(road);
+		if(i < 0)
+			return null;
+		Road removed = roads[i];
+		System.arraycopy(roads, i + 1, roads, i, size - i - 1);
+		roads[--size] = null;
+		return removed;
+	}
+
+	/**
+	 * Replaces a road of the bucket with a copy of it with a new weight,
+	 * moved to its place in the weight order. The road itself is left as
+	 * it was, so callers holding it never see its weight change.
+	 * @param road a road of the bucket
+	 * @param weight the new weight
+	 * @return the road that took its place
+	 */
+	public Road reweight(Road road, int weight) {
+		int i = indexOf(road);
+		if(i < 0)
+			throw new IllegalArgumentException();
+		Road old = roads[i];
+		Road moved = new Road(old.getSource(), old.getDestination(), weight, old.getName(), old.isOneWay());
+		//one road is out of place, so it is shifted left or right until the order holds again
+		while(i > 0 && compare(moved, roads[i - 1]) < 0) {
+			roads[i] = roads[i - 1];
+			i--;
+		}
+		while(i + 1 < size && compare(roads[i + 1], moved) < 0) {
+			roads[i] = roads[i + 1];
+			i++;
+		}
+		roads[i] = moved;
+		return moved;
+	}
+
+	//returns the cheapest road of the given weight that can be driven starting at from, or null
+	public Road getByWeight(int weight, Town from) {
+		for(int i = 0; i < size; i++) {
+			if(roads[i].getWeight() == weight && roads[i].leadsFrom(from))
+				return roads[i];
+		}
+		return null;
+	}
+
+	//returns the roads that can be driven starting at from, cheapest first
+	public ArrayList<Road> toList(Town from) {
+		ArrayList<Road> list = new ArrayList<Road>(size);
+		for(int i = 0; i < size; i++) {
+			if(roads[i].leadsFrom(from))
+				list.add(roads[i]);
+		}
+		return list;
+	}
+
+}
@@ -0,0 +1,37 @@
+package abc;
+
+/*
+ *RoadFileFormatException class
+ *
+ * Thrown when a line of a road file is not in the
+ * road,distance;town1;town2 format. Carries the 1-based line and column
+ * of the problem.
+ *
+ */
+
+import java.io.IOException;
+
+public class RoadFileFormatException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long line;
+	private final int column;
+
+	public RoadFileFormatException(String message, long line, int column) {
+		super("line " + line + ", column " + column + ": " + message);
+		this.line = line;
+		this.column = column;
+	}
+
+	//returns the 1-based line of the problem
+	public long getLine() {
+		return line;
+	}
+
+	//returns the 1-based column of the problem
+	public int getColumn() {
+		return column;
+	}
+
+}
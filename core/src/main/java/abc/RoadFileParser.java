@@ -0,0 +1,420 @@
+package abc;
+
+/*
+ *RoadFileParser class
+ *
+ * Reads road files of road,distance;town1;town2 lines, optionally ending
+ * in ;x1:y1;x2:y2 town coordinates, straight from a byte buffer. A '>'
+ * before the distance, as in road,>distance;town1;town2, marks a one-way
+ * road from town1 to town2. Fields are never copied into intermediate strings: each
+ * distinct town and road name is decoded once and then found again by
+ * its bytes, and every town name maps to a single Town object.
+ *
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+public class RoadFileParser {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	//largest piece of a file mapped at once, so int indexes are enough
+	private static final long MAX_SEGMENT = 1L << 30;
+
+	private final NameTable<Town> towns = new NameTable<Town>(Town::new);
+	private final NameTable<String> roadNames = new NameTable<String>(name -> name);
+
+	/**
+	 * Parses every line of the file.
+	 * @param file road file
+	 * @return the roads of the file
+	 * @throws RoadFileFormatException if a line is malformed
+	 * @throws IOException if the file cannot be read
+	 */
+	public RoadBatch parse(File file) throws IOException {
+		RoadBatch batch = new RoadBatch();
+		try(RandomAccessFile in = new RandomAccessFile(file, "r");
+				FileChannel channel = in.getChannel()) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			long line = 1;
+			boolean eof = false;
+			while(!eof) {
+				if(!buffer.hasRemaining())
+					buffer = grow(buffer);
+				eof = channel.read(buffer) == -1;
+				int end = buffer.position();
+				int lineStart = 0;
+				for(int i = 0; i < end; i++) {
+					if(buffer.get(i) == '\n') {
+						parseLine(buffer, lineStart, i, line++, batch);
+						lineStart = i + 1;
+					}
+				}
+				if(eof) {
+					if(lineStart < end)
+						parseLine(buffer, lineStart, end, line, batch);
+				}
+				else {
+					//keep the partial last line for the next read
+					buffer.limit(end);
+					buffer.position(lineStart);
+					buffer.compact();
+				}
+			}
+		}
+		return batch;
+	}
+
+	/**
+	 * Memory-maps the file and parses it on several threads. The file is
+	 * mapped in segments of at most MAX_SEGMENT bytes, each segment is cut
+	 * into one chunk per thread at newline boundaries, and every chunk is
+	 * parsed into its own batch by its own parser.
+	 * @param file road file
+	 * @param threads number of chunks parsed at once
+	 * @return one batch per chunk, in file order
+	 * @throws RoadFileFormatException if a line is malformed
+	 * @throws IOException if the file cannot be read
+	 */
+	public static List<RoadBatch> parseMapped(File file, int threads) throws IOException {
+		if(threads < 1)
+			throw new IllegalArgumentException();
+		ArrayList<RoadBatch> batches = new ArrayList<RoadBatch>();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try(RandomAccessFile in = new RandomAccessFile(file, "r");
+				FileChannel channel = in.getChannel()) {
+			long size = channel.size();
+			long segmentStart = 0;
+			long line = 1;
+			while(segmentStart < size) {
+				long mapped = Math.min(MAX_SEGMENT, size - segmentStart);
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, mapped);
+				int end = (int) mapped;
+				if(segmentStart + mapped < size) {
+					//stop the segment after its last complete line
+					while(end > 0 && buffer.get(end - 1) != '\n')
+						end--;
+					if(end == 0)
+						throw new RoadFileFormatException("line too long", line, 1);
+				}
+				int[] bounds = chunkBounds(buffer, end, threads);
+				ArrayList<Future<RoadBatch>> parts = new ArrayList<Future<RoadBatch>>();
+				for(int c = 0; c < threads; c++) {
+					final int from = bounds[c];
+					final int to = bounds[c + 1];
+					final ByteBuffer chunk = buffer.duplicate();
+					parts.add(pool.submit(() -> {
+						RoadBatch batch = new RoadBatch(Math.max(16, (to - from) / 32));
+						new RoadFileParser().parse(chunk, from, to, 1, batch);
+						return batch;
+					}));
+				}
+				for(int c = 0; c < threads; c++) {
+					try {
+						batches.add(parts.get(c).get());
+					}
+					catch(ExecutionException e) {
+						Throwable cause = e.getCause();
+						if(cause instanceof RoadFileFormatException) {
+							//chunks count lines from 1, make the line absolute
+							RoadFileFormatException format = (RoadFileFormatException) cause;
+							long before = line + countLines(buffer, 0, bounds[c]) - 1;
+							throw new RoadFileFormatException(stripPosition(format.getMessage()),
+									before + format.getLine(), format.getColumn());
+						}
+						if(cause instanceof IOException)
+							throw (IOException) cause;
+						throw new IOException(cause);
+					}
+					catch(InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException();
+					}
+				}
+				line += countLines(buffer, 0, end);
+				segmentStart += end;
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		return batches;
+	}
+
+	//returns threads + 1 chunk boundaries, each just after a newline
+	private static int[] chunkBounds(ByteBuffer buffer, int end, int threads) {
+		int[] bounds = new int[threads + 1];
+		bounds[threads] = end;
+		for(int c = 1; c < threads; c++) {
+			int bound = Math.max(bounds[c - 1], (int) ((long) end * c / threads));
+			while(bound < end && bound > 0 && buffer.get(bound - 1) != '\n')
+				bound++;
+			bounds[c] = bound;
+		}
+		return bounds;
+	}
+
+	private static long countLines(ByteBuffer buffer, int from, int to) {
+		long lines = 0;
+		for(int i = from; i < to; i++) {
+			if(buffer.get(i) == '\n')
+				lines++;
+		}
+		return lines;
+	}
+
+	//removes the "line x, column y: " prefix RoadFileFormatException adds
+	private static String stripPosition(String message) {
+		int colon = message.indexOf(": ");
+		return colon == -1 ? message : message.substring(colon + 2);
+	}
+
+	/**
+	 * Parses every line between start and end of the buffer.
+	 * @param buffer bytes to parse, read with absolute gets
+	 * @param start index of the first byte of the first line
+	 * @param end index after the last byte
+	 * @param firstLine line number of the first line, for error messages
+	 * @param batch receives the parsed roads
+	 * @throws RoadFileFormatException if a line is malformed
+	 */
+	public void parse(ByteBuffer buffer, int start, int end, long firstLine, RoadBatch batch) throws RoadFileFormatException {
+		long line = firstLine;
+		int lineStart = start;
+		for(int i = start; i < end; i++) {
+			if(buffer.get(i) == '\n') {
+				parseLine(buffer, lineStart, i, line++, batch);
+				lineStart = i + 1;
+			}
+		}
+		if(lineStart < end)
+			parseLine(buffer, lineStart, end, line, batch);
+	}
+
+	/**
+	 * Parses one road,distance;town1;town2 line, optionally followed by
+	 * ;x1:y1;x2:y2 coordinates for the two towns (either may be left
+	 * empty). A '>' before the distance makes the road one-way from town1
+	 * to town2. Blank lines are skipped and a trailing carriage return is
+	 * ignored.
+	 */
+	void parseLine(ByteBuffer buffer, int start, int end, long line, RoadBatch batch) throws RoadFileFormatException {
+		if(end > start && buffer.get(end - 1) == '\r')
+			end--;
+		if(end == start)
+			return;
+
+		int comma = -1;
+		int[] semicolons = new int[4];
+		int semicolonCount = 0;
+		for(int i = start; i < end; i++) {
+			byte b = buffer.get(i);
+			if(b == ',') {
+				if(comma != -1 || semicolonCount > 0)
+					throw new RoadFileFormatException("unexpected ','", line, i - start + 1);
+				comma = i;
+			}
+			else if(b == ';') {
+				if(comma == -1)
+					throw new RoadFileFormatException("expected ',' before ';'", line, i - start + 1);
+				if(semicolonCount == semicolons.length)
+					throw new RoadFileFormatException("too many ';'", line, i - start + 1);
+				semicolons[semicolonCount++] = i;
+			}
+		}
+		if(comma == -1)
+			throw new RoadFileFormatException("missing ','", line, end - start + 1);
+		if(semicolonCount < 2)
+			throw new RoadFileFormatException("expected road,distance;town1;town2", line, end - start + 1);
+		if(semicolonCount == 3)
+			throw new RoadFileFormatException("expected coordinates for both towns", line, end - start + 1);
+		int town2End = semicolonCount == 4 ? semicolons[2] : end;
+
+		int distanceStart = comma + 1;
+		while(distanceStart < semicolons[0] && buffer.get(distanceStart) == ' ')
+			distanceStart++;
+		boolean oneWay = distanceStart < semicolons[0] && buffer.get(distanceStart) == '>';
+		if(oneWay)
+			distanceStart++;
+		int distance = parseDistance(buffer, distanceStart, semicolons[0], start, line);
+		String roadName = roadNames.intern(buffer, start, comma);
+		Town town1 = towns.intern(buffer, semicolons[0] + 1, semicolons[1]);
+		Town town2 = towns.intern(buffer, semicolons[1] + 1, town2End);
+		if(semicolonCount == 4) {
+			parseCoordinates(buffer, semicolons[2] + 1, semicolons[3], start, line, town1);
+			parseCoordinates(buffer, semicolons[3] + 1, end, start, line, town2);
+		}
+		batch.add(town1, town2, distance, roadName, oneWay);
+	}
+
+	//parses an x:y pair into the town's coordinates, an empty field leaves them unset
+	private static void parseCoordinates(ByteBuffer buffer, int from, int to, int lineStart, long line, Town town) throws RoadFileFormatException {
+		if(from == to)
+			return;
+		int colon = -1;
+		for(int i = from; i < to; i++) {
+			if(buffer.get(i) == ':') {
+				colon = i;
+				break;
+			}
+		}
+		if(colon == -1)
+			throw new RoadFileFormatException("expected x:y coordinates", line, from - lineStart + 1);
+		double x = parseCoordinate(buffer, from, colon, lineStart, line);
+		double y = parseCoordinate(buffer, colon + 1, to, lineStart, line);
+		town.setCoordinates(x, y);
+	}
+
+	private static double parseCoordinate(ByteBuffer buffer, int from, int to, int lineStart, long line) throws RoadFileFormatException {
+		char[] chars = new char[to - from];
+		for(int i = from; i < to; i++) {
+			chars[i - from] = (char) (buffer.get(i) & 0xFF);
+		}
+		try {
+			return Double.parseDouble(new String(chars).trim());
+		}
+		catch(NumberFormatException e) {
+			throw new RoadFileFormatException("coordinate is not a number", line, from - lineStart + 1);
+		}
+	}
+
+	//parses an optionally signed integer, ignoring spaces; searches need distances of at least 0
+	private static int parseDistance(ByteBuffer buffer, int from, int to, int lineStart, long line) throws RoadFileFormatException {
+		long value = 0;
+		int sign = -1;
+		boolean digits = false;
+		for(int i = from; i < to; i++) {
+			byte b = buffer.get(i);
+			if(b == ' ')
+				continue;
+			if((b == '-' || b == '+') && !digits && sign == -1) {
+				sign = i;
+				continue;
+			}
+			if(b < '0' || b > '9')
+				throw new RoadFileFormatException("distance is not a number", line, i - lineStart + 1);
+			value = value * 10 + (b - '0');
+			if(value > Integer.MAX_VALUE)
+				throw new RoadFileFormatException("distance is too large", line, i - lineStart + 1);
+			digits = true;
+		}
+		if(!digits)
+			throw new RoadFileFormatException("missing distance", line, from - lineStart + 1);
+		if(sign != -1 && buffer.get(sign) == '-' && value != 0)
+			throw new RoadFileFormatException("distance is negative", line, sign - lineStart + 1);
+		return (int) value;
+	}
+
+	private static ByteBuffer grow(ByteBuffer buffer) {
+		ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+		buffer.flip();
+		bigger.put(buffer);
+		return bigger;
+	}
+
+	/*
+	 * Open addressing table from name bytes to the value decoded for them,
+	 * so a repeated name costs a hash and a byte compare, not a String.
+	 */
+	static class NameTable<V> {
+
+		private int[] slots = new int[64];
+		private byte[][] keys = new byte[32][];
+		private int[] hashes = new int[32];
+		private Object[] values = new Object[32];
+		private int size;
+		private final Function<String, V> factory;
+
+		public NameTable(Function<String, V> factory) {
+			this.factory = factory;
+			Arrays.fill(slots, -1);
+		}
+
+		//returns the value for the bytes from..to, creating it on first sight
+		@SuppressWarnings("unchecked")
+		public V intern(ByteBuffer buffer, int from, int to) {
+			int hash = 1;
+			for(int i = from; i < to; i++) {
+				hash = 31 * hash + buffer.get(i);
+			}
+			int mask = slots.length - 1;
+			int slot = mix(hash) & mask;
+			while(slots[slot] != -1) {
+				int entry = slots[slot];
+				if(hashes[entry] == hash && matches(keys[entry], buffer, from, to))
+					return (V) values[entry];
+				slot = (slot + 1) & mask;
+			}
+			byte[] key = new byte[to - from];
+			for(int i = from; i < to; i++) {
+				key[i - from] = buffer.get(i);
+			}
+			V value = factory.apply(new String(key, StandardCharsets.UTF_8));
+			add(slot, key, hash, value);
+			return value;
+		}
+
+		//returns number of distinct names
+		public int size() {
+			return size;
+		}
+
+		private void add(int slot, byte[] key, int hash, Object value) {
+			if(size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				hashes = Arrays.copyOf(hashes, size * 2);
+				values = Arrays.copyOf(values, size * 2);
+			}
+			keys[size] = key;
+			hashes[size] = hash;
+			values[size] = value;
+			slots[slot] = size;
+			size++;
+			if(size * 2 > slots.length)
+				rehash();
+		}
+
+		private void rehash() {
+			slots = new int[slots.length * 2];
+			Arrays.fill(slots, -1);
+			int mask = slots.length - 1;
+			for(int entry = 0; entry < size; entry++) {
+				int slot = mix(hashes[entry]) & mask;
+				while(slots[slot] != -1) {
+					slot = (slot + 1) & mask;
+				}
+				slots[slot] = entry;
+			}
+		}
+
+		private static boolean matches(byte[] key, ByteBuffer buffer, int from, int to) {
+			if(key.length != to - from)
+				return false;
+			for(int i = 0; i < key.length; i++) {
+				if(key[i] != buffer.get(from + i))
+					return false;
+			}
+			return true;
+		}
+
+		private static int mix(int hash) {
+			return hash ^ (hash >>> 16);
+		}
+
+	}
+
+}
@@ -0,0 +1,59 @@
+package abc;
+
+/*
+ *RouteRequest class
+ *
+ * One (town1, town2) pair of a batch sent to TownGraphManager.getPaths.
+ *
+ */
+
+public class RouteRequest {
+
+	private final String source;
+	private final String destination;
+
+	/**
+	 * Creates a request for the shortest path between two towns.
+	 * @param source name of the starting town
+	 * @param destination name of the ending town
+	 * @throws NullPointerException if either name is null
+	 */
+	public RouteRequest(String source, String destination) {
+		if(source == null || destination == null)
+			throw new NullPointerException();
+		this.source = source;
+		this.destination = destination;
+	}
+
+	//returns name of the starting town
+	public String getSource() {
+		return source;
+	}
+
+	//returns name of the ending town
+	public String getDestination() {
+		return destination;
+	}
+
+	//returns true if both requests ask for the same route
+	@Override
+	public boolean equals(Object o) {
+		if(!(o instanceof RouteRequest))
+			return false;
+		RouteRequest other = (RouteRequest) o;
+		return source.equals(other.source) && destination.equals(other.destination);
+	}
+
+	//returns hashcode of the route
+	@Override
+	public int hashCode() {
+		return source.hashCode() * 31 + destination.hashCode();
+	}
+
+	//returns the request as "source to destination"
+	@Override
+	public String toString() {
+		return source + " to " + destination;
+	}
+
+}
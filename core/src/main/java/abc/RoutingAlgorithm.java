@@ -0,0 +1,30 @@
+package abc;
+
+/**
+ * Search used by Graph.shortestPath for point-to-point queries. Every
+ * algorithm returns a shortest path in the same "X via R to Y N mi" form.
+ */
+public enum RoutingAlgorithm {
+
+	/** Single-source Dijkstra over the whole graph. */
+	DIJKSTRA,
+
+	/** Dijkstra from both ends at once, stopping when the searches meet. */
+	BIDIRECTIONAL_DIJKSTRA,
+
+	/** A* guided by the graph's Heuristic. */
+	A_STAR,
+
+	/**
+	 * Query of a Contraction Hierarchy, built on first use and rebuilt on
+	 * the first query after the graph changes.
+	 */
+	CONTRACTION_HIERARCHY,
+
+	/**
+	 * A* guided by the graph's LandmarkTable, computed on first use and
+	 * recomputed on the first query after the graph changes.
+	 */
+	ALT
+
+}
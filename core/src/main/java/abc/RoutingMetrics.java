@@ -0,0 +1,46 @@
+package abc;
+
+/**
+ * Receives measurements from Graph and TownGraphManager: one call per
+ * shortestPath query and one per road file import. Implementations must
+ * be thread safe and fast, since queries call them on every thread.
+ * InMemoryMetrics keeps histograms and is the default; JmxMetrics also
+ * publishes them over JMX.
+ */
+public interface RoutingMetrics {
+
+	/**
+	 * Records one shortestPath query.
+	 * @param algorithm search that answered the query
+	 * @param nanos time the query took, in nanoseconds
+	 * @param settled towns the search took from its heaps
+	 * @param relaxed arcs the search looked at
+	 */
+	void recordQuery(RoutingAlgorithm algorithm, long nanos, int settled, long relaxed);
+
+	/**
+	 * Records one road file import.
+	 * @param roads roads read from the file
+	 * @param bytes size of the file
+	 * @param nanos time the import took, in nanoseconds
+	 */
+	void recordImport(long roads, long bytes, long nanos);
+
+	/**
+	 * Returns metrics that discard everything, for when even the cost of
+	 * recording matters.
+	 * @return metrics that record nothing
+	 */
+	static RoutingMetrics none() {
+		return new RoutingMetrics() {
+			@Override
+			public void recordQuery(RoutingAlgorithm algorithm, long nanos, int settled, long relaxed) {
+			}
+
+			@Override
+			public void recordImport(long roads, long bytes, long nanos) {
+			}
+		};
+	}
+
+}
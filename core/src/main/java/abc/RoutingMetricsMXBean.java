@@ -0,0 +1,48 @@
+package abc;
+
+/**
+ * Management view of JmxMetrics. Latencies are in nanoseconds and cover
+ * all routing algorithms together.
+ */
+public interface RoutingMetricsMXBean {
+
+	/** @return number of shortestPath queries recorded */
+	public long getQueryCount();
+
+	/** @return mean query latency */
+	public double getMeanLatency();
+
+	/** @return median query latency */
+	public long getLatencyP50();
+
+	/** @return 99th percentile query latency */
+	public long getLatencyP99();
+
+	/** @return 99.9th percentile query latency */
+	public long getLatencyP999();
+
+	/** @return longest query latency */
+	public long getMaxLatency();
+
+	/** @return mean towns settled per query */
+	public double getMeanSettled();
+
+	/** @return mean arcs relaxed per query */
+	public double getMeanRelaxed();
+
+	/** @return number of road files imported */
+	public long getImportCount();
+
+	/** @return roads read by all imports */
+	public long getImportedRoads();
+
+	/** @return roads imported per second over all imports */
+	public double getImportRoadsPerSecond();
+
+	/** @return bytes imported per second over all imports */
+	public double getImportBytesPerSecond();
+
+	/** Forgets every query and import recorded. */
+	public void reset();
+
+}
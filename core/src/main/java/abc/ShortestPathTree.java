@@ -0,0 +1,81 @@
+package abc;
+
+/*
+ *ShortestPathTree class
+ *
+ * Result of one Dijkstra search from a source town: the distance to every
+ * town and the arc each town was reached by. Paths and distances to any
+ * number of destinations are read from it without searching again, each
+ * in time proportional to the length of the path.
+ *
+ */
+
+import java.util.ArrayList;
+
+public class ShortestPathTree {
+
+	private final GraphSnapshot graph;
+	private final int source;
+	private final long[] distance;
+	private final int[] predecessorArc;
+	private final int[] predecessor;
+
+	/**
+	 * Runs Dijkstra from source over the snapshot.
+	 * @param graph snapshot to search
+	 * @param sourceVertex town to search from
+	 * @throws IllegalArgumentException if sourceVertex is not in the snapshot
+	 */
+	public ShortestPathTree(GraphSnapshot graph, Town sourceVertex) {
+		this.graph = graph;
+		source = graph.idOf(sourceVertex);
+		if(source == -1)
+			throw new IllegalArgumentException();
+		int n = graph.idCount();
+		distance = new long[n];
+		predecessorArc = new int[n];
+		predecessor = new int[n];
+		graph.dijkstra(source, distance, predecessorArc, predecessor);
+	}
+
+	//returns the town the tree was grown from
+	public Town getSource() {
+		return graph.townAt(source);
+	}
+
+	//returns the snapshot the tree was computed on
+	public GraphSnapshot getGraph() {
+		return graph;
+	}
+
+	//returns true if there is a path from the source to destination
+	public boolean isReachable(Town destinationVertex) {
+		int destination = graph.idOf(destinationVertex);
+		return destination != -1 && distance[destination] != GraphSnapshot.UNREACHABLE;
+	}
+
+	/**
+	 * Returns the length of the shortest path from the source.
+	 * @param destinationVertex ending vertex
+	 * @return the distance in miles, or -1 if there is no path
+	 */
+	public long distanceTo(Town destinationVertex) {
+		if(!isReachable(destinationVertex))
+			return -1;
+		return distance[graph.idOf(destinationVertex)];
+	}
+
+	/**
+	 * Returns the shortest path from the source in the same
+	 * "X via R to Y N mi" form as Graph.shortestPath.
+	 * @param destinationVertex ending vertex
+	 * @return the path, or null if there is no path
+	 */
+	public ArrayList<String> pathTo(Town destinationVertex) {
+		int destination = graph.idOf(destinationVertex);
+		if(destination == -1)
+			return null;
+		return graph.describePath(destination, distance, predecessorArc, predecessor);
+	}
+
+}
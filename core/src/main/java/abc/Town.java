@@ -15,6 +15,10 @@ public class Town implements Comparable<Town>{
 	private String name;
 	private LinkedHashSet<Town> adjacentTowns;
 	private LinkedList<Town> shortestPath;
+	//optional position, planar x/y or latitude/longitude in degrees
+	private boolean hasCoordinates;
+	private double x;
+	private double y;
 	
 	public Town(String name) {
 		this.name = name;
@@ -27,6 +31,14 @@ public class Town implements Comparable<Town>{
 		name = templateTown.name;
 		adjacentTowns = new LinkedHashSet<Town>();
 		shortestPath = new LinkedList<Town>();
+		hasCoordinates = templateTown.hasCoordinates;
+		x = templateTown.x;
+		y = templateTown.y;
+	}
+	
+	public Town(String name, double x, double y) {
+		this(name);
+		setCoordinates(x, y);
 	}
 	
 	//returns name
@@ -39,6 +51,34 @@ public class Town implements Comparable<Town>{
 		this.name = name;
 	}
 	
+	/**
+	 * Sets the position of the town. Planar heuristics read x and y as
+	 * they are; the haversine heuristic reads x as latitude and y as
+	 * longitude, in degrees.
+	 * @param x x coordinate or latitude
+	 * @param y y coordinate or longitude
+	 */
+	public void setCoordinates(double x, double y) {
+		this.x = x;
+		this.y = y;
+		hasCoordinates = true;
+	}
+	
+	//returns true if the town has a position
+	public boolean hasCoordinates() {
+		return hasCoordinates;
+	}
+	
+	//returns x coordinate or latitude
+	public double getX() {
+		return x;
+	}
+	
+	//returns y coordinate or longitude
+	public double getY() {
+		return y;
+	}
+	
 	public LinkedHashSet<Town> getAdjacent(){
 		return adjacentTowns;
 	}
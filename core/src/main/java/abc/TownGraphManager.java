@@ -0,0 +1,645 @@
+package abc;
+
+import java.io.File;
+
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ *Graph Manager class
+ * 
+ * @author Jonas da Silva
+ *
+ */
+
+public class TownGraphManager implements TownGraphManagerInterface {
+	
+	private static final int DEFAULT_PATH_CACHE_SIZE = 8192;
+	//shared by every getPaths call, so a batch does not start threads of its own
+	private static final ForkJoinPool ROUTING_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	
+	//replaced as a whole by load, so readers never see a half-loaded graph
+	private volatile Graph graph = new Graph();
+	private PathCache pathCache;
+	
+	public TownGraphManager() {
+		this(DEFAULT_PATH_CACHE_SIZE);
+	}
+	
+	/**
+	 * Creates an empty manager
+	 * @param pathCacheSize most getPath results kept in the path cache
+	 */
+	public TownGraphManager(int pathCacheSize) {
+		pathCache = new PathCache(pathCacheSize);
+	}
+	
+	/**
+	 * Chooses the search getPath uses
+	 * @param routingAlgorithm the search to use
+	 */
+	public void setRoutingAlgorithm(RoutingAlgorithm routingAlgorithm) {
+		graph.setRoutingAlgorithm(routingAlgorithm);
+		pathCache.clear();
+	}
+	
+	/**
+	 * Sets the heuristic getPath uses with the A_STAR routing algorithm
+	 * @param heuristic an admissible heuristic
+	 */
+	public void setHeuristic(Heuristic heuristic) {
+		graph.setHeuristic(heuristic);
+		pathCache.clear();
+	}
+	
+	//returns the search getPath uses
+	public RoutingAlgorithm getRoutingAlgorithm() {
+		return graph.getRoutingAlgorithm();
+	}
+	
+	//returns the cache of getPath results, for its hit, miss and eviction counts
+	public PathCache getPathCache() {
+		return pathCache;
+	}
+
+
+	
+	/**
+	 * Adds a road with 2 towns and a road name
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @param roadName name of road
+	 * @return true if the road was added successfully
+	 * @throws IllegalArgumentException if weight is negative
+	 */
+	@Override
+	public boolean addRoad(String town1, String town2, int weight, String roadName) {
+		return graph.addEdge(town1, town2, weight, roadName) != null;
+	}
+
+	/**
+	 * Adds a one-way road that can only be driven from town 1 to town 2,
+	 * adding the towns if needed
+	 * @param town1 name of the town the road leads from
+	 * @param town2 name of the town the road leads to
+	 * @param weight distance of the road
+	 * @param roadName name of road
+	 * @return true if the road was added, false if the towns already have a
+	 * one-way road of that name in that direction
+	 * @throws IllegalArgumentException if weight is negative
+	 */
+	@Override
+	public boolean addOneWayRoad(String town1, String town2, int weight, String roadName) {
+		return graph.addEdge(town1, town2, weight, roadName, true) != null;
+	}
+
+	/**
+	 * Returns the name of the road that both towns are connected through
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @return name of road if town 1 and town2 are in the same road, returns null if not;
+	 * the cheapest road if several connect them
+	 */
+	@Override
+	public String getRoad(String town1, String town2) {
+		Town source = new Town(town1);
+		Town destination = new Town(town2);
+		Road road = graph.getEdge(source, destination);
+		if(road == null) {
+			return null;
+		}
+		return road.getName();
+	}
+
+	/**
+	 * Adds a town to the graph
+	 * @param v the town's name  (lastname, firstname)
+	 * @return true if the town was successfully added, false if not
+	 */
+	@Override
+	public boolean addTown(String v) {
+		Town town = new Town(v);
+		return graph.addVertex(town);
+	}
+
+	/**
+	 * Gets a town with a given name
+	 * @param name the town's name 
+	 * @return the Town specified by the name, or null if town does not exist
+	 */
+	@Override
+	public Town getTown(String name) {
+		return graph.getVertex(name);
+	}
+
+	/**
+	 * Determines if a town is already in the graph
+	 * @param v the town's name 
+	 * @return true if the town is in the graph, false if not
+	 */
+	@Override
+	public boolean containsTown(String v) {
+		return graph.getVertex(v) != null;
+	}
+	
+	
+	/**
+	 * Determines if a road is in the graph
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @return true if the road is in the graph, false if not
+	 */
+	@Override
+	public boolean containsRoadConnection(String town1, String town2) {
+		Town source = new Town(town1);
+		Town destination = new Town(town2);
+		return graph.containsEdge(source, destination);
+	}
+
+	/**
+	 * Creates an arraylist of all road titles in sorted order by road name
+	 * @return an arraylist of all road titles in sorted order by road name
+	 */
+	@Override
+	public ArrayList<String> allRoads() {
+		Graph current = graph;
+		ArrayList<String> allRoads = new ArrayList<String>();
+		synchronized(current) {
+			for(Road road : current.edgeSet()) {
+				allRoads.add(road.getName());
+			}
+		}
+		Collections.sort(allRoads);
+		return allRoads;
+	}
+
+	/**
+	 * Deletes a road from the graph
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @param roadName the road name, or null for the cheapest road between the towns
+	 * @return true if the road was successfully deleted, false if not
+	 */
+	@Override
+	public boolean deleteRoadConnection(String town1, String town2, String road) {
+		Town source = new Town(town1);
+		Town destination = new Town(town2);
+		if(road != null)
+			return graph.removeEdge(source, destination, -1, road) != null;
+		Road r = graph.getEdge(source, destination);
+		if(r == null) {
+			return false;
+		}
+		graph.removeEdge(source, destination, r.getWeight(), null);
+		return true;
+	}
+
+	/**
+	 * Deletes a town from the graph
+	 * @param v name of town (lastname, firstname)
+	 * @return true if the town was successfully deleted, false if not
+	 */
+	@Override
+	public boolean deleteTown(String v) {
+		Town town = new Town(v);
+		return graph.removeVertex(town);
+	}
+
+	/**
+	 * Creates an arraylist of all towns in alphabetical order (last name, first name)
+	 * @return an arraylist of all towns in alphabetical order (last name, first name)
+	 */
+	@Override
+	public ArrayList<String> allTowns() {
+		Graph current = graph;
+		ArrayList<String> arrayList = new ArrayList<String>();
+		synchronized(current) {
+			for(Town town : current.vertexSet()) {
+				arrayList.add(town.getName());
+			}
+		}
+		Collections.sort(arrayList);
+		return arrayList;
+	}
+
+	/**
+	 * Returns the shortest path from town 1 to town 2
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @return an Arraylist of roads connecting the two towns together, null if the
+	 * towns have no path to connect them.
+	 */
+	@Override
+	public ArrayList<String> getPath(String town1, String town2) {
+		 Graph current = graph;
+		 GraphSnapshot view = current.snapshot();
+		 long version = view.getVersion();
+		 ArrayList<String> path = pathCache.get(town1, town2, version);
+		 if(path != null)
+			 return path;
+				
+		 Town source = new Town(town1);
+		 Town destination = new Town(town2);
+		 path = null;
+		 if(hasRoads(view, source) && hasRoads(view, destination))
+			 path = current.shortestPath(view, source, destination);
+		 if(path == null)
+			 path = new ArrayList<String>();
+		 pathCache.put(town1, town2, version, path);
+		 return path;
+		/*
+		 
+		Town source = new Town("");
+	    Town destination = new Town("");
+	    Road road = new Road(destination, destination, 0, town2);
+	   // importSetsToGraph();
+		for(Town town : graph.vertexSet()) {
+			if(town.getName().equals(town1))
+				source = town;
+			if(town.getName().equals(town2))
+				destination = town;
+		}
+		
+		
+		
+		for(Road r : graph.edgeSet()) {
+		//	System.out.println("birju");
+				
+		}
+		
+		
+		
+		
+		if(!graph.edgesOf(source).isEmpty())
+			System.out.println("3");
+		
+		if(!graph.edgesOf(destination).isEmpty())
+			System.out.println("4");
+		
+		for(Town town : graph.vertexSet()) {
+			if(town.getName().equals(town1)) {
+				for(Town t : graph.vertexSet()) {
+					if(t.getName().equals(town2)) {
+						if(graph.edgesOf(town).isEmpty())
+							System.out.println("3");					
+						if(graph.edgesOf(t).isEmpty())
+							System.out.println("4");
+						if((graph.containsVertex(town) && graph.containsVertex(t))
+					              && (!graph.edgesOf(town).isEmpty() && !graph.edgesOf(t).isEmpty())) {
+							System.out.println("dale higgins");
+						}
+					}
+				}
+			}
+		}
+		
+	      // Town source = new Town(town1);
+	     //  Town destination = new Town(town2);
+	       ArrayList<String> path = new ArrayList<String>();
+	       if((graph.containsVertex(source) && graph.containsVertex(destination))
+	              && (!graph.edgesOf(source).isEmpty() && !graph.edgesOf(destination).isEmpty())) 
+	    		   {
+	    	   System.out.print("works");
+	           path = graph.shortestPath(source, destination);
+	           if(path == null) 
+	        	   return new ArrayList<String>();
+	           return path;
+	       }
+	       
+	       System.out.print("hello");
+	       
+	       return new ArrayList<String>();
+		
+		
+	/*	Graph graph = new Graph();
+		Town source = new Town("");
+		Town destination = new Town("");
+		for(Town town : towns) {
+			graph.addVertex(town);
+			if(town.getName().equals(town1))
+				source = town;
+			if(town.getName().equals(town2))
+				destination = town;
+		}
+	for(Road road : roads) {
+			graph.addEdge(road.getSource(), road.getDestination(), road.getWeight(), road.getName());
+		}
+		for(Town town : graph.vertexSet()) {
+			if(town.getName().equals(town1))
+				source = town;
+			if(town.getName().equals(town2))
+				destination = town;
+		}
+		
+		ArrayList<String> path = graph.shortestPath(source, destination);
+		return path;
+
+		
+	/*	HashSet<Town> townSet = new HashSet<Town>();
+		HashSet<Road> roadSet = new HashSet<Road>();
+		for(Town town : towns) {
+			townSet.add(town);
+		}
+		for(Road road : roads) {
+			roadSet.add(road);
+		}
+		Town source = new Town("");
+		Town destination = new Town("");
+		for(Town town : towns){
+			if(town.getName().equals(town1))
+				source = town;
+			if(town.getName().equals(town2))
+				destination = town;
+		}
+		Graph graph = new Graph(towns, roads);
+		//graph.dijkstraShortestPath(source);
+		ArrayList<String> path = graph.shortestPath(source, destination);
+		return path;
+		
+	/*	ArrayList<String> listOfTowns= graph.shortestPath(source,destination);
+		for(int i = 0; i < listOfTowns.size(); i++) {
+			path.add(listOfTowns.get(i).toString());
+		}
+		path.add(destination.toString());
+		return path;
+		/*
+		HashSet<Town> townSet = new HashSet<Town>();
+		HashSet<Road> roadSet = new HashSet<Road>();
+		for(Town town : towns) {
+			townSet.add(town);
+		}
+		for(Road road : roads) {
+			roadSet.add(road);
+		}
+		Graph graph = new Graph(townSet, roadSet);
+		for(Town town : towns) {
+			if(town.getName().equals(town1))
+				source = town;
+			if(town.getName().equals(town2))
+				destination = town;
+		}
+		return graph.shortestPath(source, destination);*/
+	}
+	
+	/**
+	 * Returns the shortest path of every request, like calling getPath for
+	 * each. Requests with the same starting town share one search, and the
+	 * searches run on several cores. Paths taken from a shared search are
+	 * not put in the path cache, since where two paths tie it can pick a
+	 * different one than getPath would
+	 * @param requests the (town 1, town 2) pairs to route
+	 * @return the path of each request, in the order of requests, empty if
+	 * the towns have no path to connect them
+	 */
+	@Override
+	public List<ArrayList<String>> getPaths(List<RouteRequest> requests) {
+		Graph current = graph;
+		GraphSnapshot view = current.snapshot();
+		long version = view.getVersion();
+		ArrayList<ArrayList<String>> paths = new ArrayList<ArrayList<String>>(Collections.<ArrayList<String>>nCopies(requests.size(), null));
+		LinkedHashMap<String, ArrayList<Integer>> bySource = new LinkedHashMap<String, ArrayList<Integer>>();
+		for(int i = 0; i < requests.size(); i++) {
+			RouteRequest request = requests.get(i);
+			ArrayList<String> cached = pathCache.get(request.getSource(), request.getDestination(), version);
+			if(cached != null) {
+				paths.set(i, cached);
+				continue;
+			}
+			ArrayList<Integer> group = bySource.get(request.getSource());
+			if(group == null) {
+				group = new ArrayList<Integer>();
+				bySource.put(request.getSource(), group);
+			}
+			group.add(i);
+		}
+		
+		ArrayList<ArrayList<Integer>> groups = new ArrayList<ArrayList<Integer>>(bySource.values());
+		if(groups.isEmpty())
+			return paths;
+		int threads = Math.min(groups.size(), ROUTING_POOL.getParallelism());
+		AtomicInteger nextGroup = new AtomicInteger();
+		ArrayList<ForkJoinTask<?>> workers = new ArrayList<ForkJoinTask<?>>();
+		for(int t = 0; t < threads; t++) {
+			workers.add(ROUTING_POOL.submit(() -> {
+				for(int g = nextGroup.getAndIncrement(); g < groups.size(); g = nextGroup.getAndIncrement()) {
+					routeGroup(current, view, version, requests, groups.get(g), paths);
+				}
+			}));
+		}
+		for(ForkJoinTask<?> worker : workers) {
+			worker.join();
+		}
+		return paths;
+	}
+	
+	//routes every request of one source, with a single search if there are several
+	private void routeGroup(Graph current, GraphSnapshot view, long version, List<RouteRequest> requests,
+			ArrayList<Integer> group, ArrayList<ArrayList<String>> paths) {
+		Town source = new Town(requests.get(group.get(0)).getSource());
+		boolean connected = hasRoads(view, source);
+		//a lone request goes through the routing algorithm like getPath; a full tree only pays off for several
+		ShortestPathTree tree = null;
+		if(connected && group.size() > 1)
+			tree = new ShortestPathTree(view, source);
+		for(int i : group) {
+			RouteRequest request = requests.get(i);
+			Town destination = new Town(request.getDestination());
+			ArrayList<String> path = null;
+			if(tree != null)
+				path = tree.pathTo(destination);
+			else if(connected && hasRoads(view, destination))
+				path = current.shortestPath(view, source, destination);
+			if(path == null)
+				path = new ArrayList<String>();
+			//only paths getPath would have found are shared with it
+			if(tree == null)
+				pathCache.put(request.getSource(), request.getDestination(), version, path);
+			paths.set(i, path);
+		}
+	}
+	
+	//returns true if town is in the snapshot and has a road
+	private static boolean hasRoads(GraphSnapshot view, Town town) {
+		int id = view.idOf(town);
+		return id != -1 && (view.degree(id) > 0 || view.inDegree(id) > 0);
+	}
+	
+	
+	
+
+	/**
+	 * Adds every road of a file of road,distance;town1;town2 lines, along
+	 * with its towns
+	 * @param file the road file
+	 * @throws FileNotFoundException if the file does not exist
+	 * @throws RoadFileFormatException if a line is malformed, with its line and column
+	 * @throws IOException if the file cannot be read
+	 */
+	@Override
+	public void populateTownGraph(File file) throws FileNotFoundException, IOException {
+		if(!file.isFile())
+			throw new FileNotFoundException(file.getPath());
+		long start = System.nanoTime();
+		RoadBatch batch = new RoadFileParser().parse(file);
+		Graph current = graph;
+		current.addEdges(batch);
+		current.getMetrics().recordImport(batch.size(), file.length(), System.nanoTime() - start);
+	}
+	
+	
+	/**
+	 * Adds every road of a file like populateTownGraph, but memory-maps the
+	 * file and parses it on all available cores before adding the roads to
+	 * the graph in one batch, so the import gives the graph a single new
+	 * version and readers never see half of the file
+	 * @param file the road file
+	 * @throws FileNotFoundException if the file does not exist
+	 * @throws RoadFileFormatException if a line is malformed, with its line and column
+	 * @throws IOException if the file cannot be read
+	 */
+	@Override
+	public void populateTownGraphMapped(File file) throws FileNotFoundException, IOException {
+		if(!file.isFile())
+			throw new FileNotFoundException(file.getPath());
+		long start = System.nanoTime();
+		List<RoadBatch> batches = RoadFileParser.parseMapped(file, Runtime.getRuntime().availableProcessors());
+		int roads = 0;
+		for(RoadBatch part : batches) {
+			roads += part.size();
+		}
+		RoadBatch batch = new RoadBatch(roads);
+		for(RoadBatch part : batches) {
+			batch.addAll(part);
+		}
+		Graph current = graph;
+		current.addEdges(batch);
+		current.getMetrics().recordImport(batch.size(), file.length(), System.nanoTime() - start);
+	}
+	
+	
+	//returns where route queries and road file imports are recorded
+	public RoutingMetrics getMetrics() {
+		return graph.getMetrics();
+	}
+	
+	/**
+	 * Chooses where route queries and road file imports are recorded, for
+	 * instance a JmxMetrics to watch them from a JMX client
+	 * @param metrics metrics to record to
+	 * @throws NullPointerException if metrics is null
+	 */
+	public void setMetrics(RoutingMetrics metrics) {
+		graph.setMetrics(metrics);
+	}
+	
+	
+	/**
+	 * Writes every town and road to a binary graph file
+	 * @param path the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	@Override
+	public void save(Path path) throws IOException {
+		GraphFile.save(graph, path);
+	}
+	
+	/**
+	 * Replaces every town and road with those of a binary graph file
+	 * written by save
+	 * @param path the file to read
+	 * @throws IOException if the file cannot be read or is not a graph file
+	 */
+	@Override
+	public void load(Path path) throws IOException {
+		Graph loaded = GraphFile.load(path);
+		loaded.setRoutingAlgorithm(graph.getRoutingAlgorithm());
+		loaded.setHeuristic(graph.getHeuristic());
+		loaded.setLandmarkCount(graph.getLandmarkCount());
+		loaded.setMetrics(graph.getMetrics());
+		graph = loaded;
+		pathCache.clear();
+	}
+	
+	/**
+	 * Writes the landmark table used by the ALT routing algorithm,
+	 * computing it first if needed, so it can be stored next to a graph file
+	 * @param path the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	@Override
+	public void saveLandmarks(Path path) throws IOException {
+		graph.landmarkTable().save(path);
+	}
+	
+	/**
+	 * Keeps the shortest paths from a depot town up to date as roads are
+	 * added and deleted, repairing them instead of searching again. The tree
+	 * follows the current graph until load replaces it.
+	 * @param town name of the depot
+	 * @return the depot's tree, or null if there is no such town
+	 */
+	@Override
+	public DynamicShortestPathTree maintainShortestPathTree(String town) {
+		Graph current = graph;
+		synchronized(current) {
+			Town depot = current.getVertex(town);
+			return depot == null ? null : current.maintainShortestPathTree(depot);
+		}
+	}
+	
+	/**
+	 * Changes the weights of a batch of roads at once, for instance from a
+	 * traffic feed. getPath keeps answering from the previous weights until
+	 * the whole batch is in, and cached paths of those weights are not used
+	 * again
+	 * @param batch new weights of roads already in the graph; a null road
+	 * name picks the cheapest road between the towns
+	 * @return number of roads whose weight changed
+	 * @throws IllegalArgumentException if any weight is negative
+	 */
+	@Override
+	public int updateWeights(WeightBatch batch) {
+		return graph.updateWeights(batch);
+	}
+	
+	/**
+	 * Computes the distance between every pair of towns in parallel, much
+	 * faster than calling getPath for each pair
+	 * @return the distance of every pair of towns
+	 */
+	@Override
+	public DistanceMatrix getDistanceMatrix() {
+		return graph.distanceMatrix();
+	}
+	
+	/**
+	 * Reads a landmark table written by saveLandmarks for the current towns
+	 * and roads, so ALT does not have to compute it
+	 * @param path the file to read
+	 * @throws IOException if the file cannot be read or was written for
+	 * different towns
+	 */
+	@Override
+	public void loadLandmarks(Path path) throws IOException {
+		Graph current = graph;
+		current.setLandmarkTable(LandmarkTable.load(path, current.snapshot()));
+	}
+	
+	
+}
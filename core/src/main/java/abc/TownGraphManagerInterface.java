@@ -0,0 +1,180 @@
+package abc;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+public interface TownGraphManagerInterface {
+	
+	/**
+	 * Adds a road with 2 towns and a road name
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @param roadName name of road
+	 * @return true if the road was added successfully
+	 */
+	public boolean addRoad(String town1, String town2, int weight, String roadName);
+	
+	/**
+	 * Adds a one-way road that can only be driven from town 1 to town 2
+	 * @param town1 name of the town the road leads from
+	 * @param town2 name of the town the road leads to
+	 * @param weight distance of the road
+	 * @param roadName name of road
+	 * @return true if the road was added successfully
+	 */
+	public boolean addOneWayRoad(String town1, String town2, int weight, String roadName);
+	
+	/**
+	 * Returns the name of the road that both towns are connected through
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @return name of road if town 1 and town2 are in the same road, returns null if not
+	 */
+	public String getRoad(String town1, String town2);
+	
+	/**
+	 * Adds a town to the graph
+	 * @param v the town's name  (lastname, firstname)
+	 * @return true if the town was successfully added, false if not
+	 */
+	public boolean addTown(String v);
+	
+	/**
+	 * Gets a town with a given name
+	 * @param name the town's name 
+	 * @return the Town specified by the name, or null if town does not exist
+	 */
+	public Town getTown(String name);
+	
+	/**
+	 * Determines if a town is already in the graph
+	 * @param v the town's name 
+	 * @return true if the town is in the graph, false if not
+	 */
+	public boolean containsTown(String v);
+	
+	/**
+	 * Determines if a road is in the graph
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @return true if the road is in the graph, false if not
+	 */
+	public boolean containsRoadConnection(String town1, String town2);
+	
+	/**
+	 * Creates an arraylist of all road titles in sorted order by road name
+	 * @return an arraylist of all road titles in sorted order by road name
+	 */
+	public ArrayList<String> allRoads();
+	
+	/**
+	 * Deletes a road from the graph
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @param roadName the road name
+	 * @return true if the road was successfully deleted, false if not
+	 */
+	public boolean deleteRoadConnection(String town1, String town2, String road);
+	
+	/**
+	 * Deletes a town from the graph
+	 * @param v name of town (lastname, firstname)
+	 * @return true if the town was successfully deleted, false if not
+	 */
+	public boolean deleteTown(String v);
+
+	/**
+	 * Creates an arraylist of all towns in alphabetical order (last name, first name)
+	 * @return an arraylist of all towns in alphabetical order (last name, first name)
+	 */
+	public ArrayList<String> allTowns();
+	
+	/**
+	 * Returns the shortest path from town 1 to town 2
+	 * @param town1 name of town 1 (lastname, firstname)
+	 * @param town2 name of town 2 (lastname, firstname)
+	 * @return an Arraylist of roads connecting the two towns together, null if the
+	 * towns have no path to connect them.
+	 */
+	public ArrayList<String> getPath(String town1, String town2);
+	
+	/**
+	 * Returns the shortest path of every request, like calling getPath for
+	 * each. Requests with the same starting town share one search, and the
+	 * searches run on several cores
+	 * @param requests the (town 1, town 2) pairs to route
+	 * @return the path of each request, in the order of requests, empty if
+	 * the towns have no path to connect them
+	 */
+	public List<ArrayList<String>> getPaths(List<RouteRequest> requests);
+	
+	
+	public void populateTownGraph(File file) throws FileNotFoundException, IOException;
+	
+	/**
+	 * Adds every road of a file like populateTownGraph, parsing the file on
+	 * several cores from a memory mapping
+	 * @param file the road file
+	 * @throws FileNotFoundException if the file does not exist
+	 * @throws IOException if the file cannot be read or a line is malformed
+	 */
+	public void populateTownGraphMapped(File file) throws FileNotFoundException, IOException;
+	
+	/**
+	 * Writes every town and road to a binary graph file
+	 * @param path the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(Path path) throws IOException;
+	
+	/**
+	 * Replaces every town and road with those of a binary graph file
+	 * written by save
+	 * @param path the file to read
+	 * @throws IOException if the file cannot be read or is not a graph file
+	 */
+	public void load(Path path) throws IOException;
+	
+	/**
+	 * Writes the landmark table used by the ALT routing algorithm,
+	 * computing it first if needed, so it can be stored next to a graph file
+	 * @param path the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void saveLandmarks(Path path) throws IOException;
+	
+	/**
+	 * Computes the distance between every pair of towns in parallel, much
+	 * faster than calling getPath for each pair
+	 * @return the distance of every pair of towns
+	 */
+	public DistanceMatrix getDistanceMatrix();
+	
+	/**
+	 * Keeps the shortest paths from a depot town up to date as roads are
+	 * added and deleted, repairing them instead of searching again
+	 * @param town name of the depot
+	 * @return the depot's tree, or null if there is no such town
+	 */
+	public DynamicShortestPathTree maintainShortestPathTree(String town);
+	
+	/**
+	 * Changes the weights of a batch of roads at once, for instance from a
+	 * traffic feed, without holding up getPath on other threads
+	 * @param batch new weights of roads already in the graph
+	 * @return number of roads whose weight changed
+	 */
+	public int updateWeights(WeightBatch batch);
+	
+	/**
+	 * Reads a landmark table written by saveLandmarks for the current towns
+	 * and roads, so ALT does not have to compute it
+	 * @param path the file to read
+	 * @throws IOException if the file cannot be read or was written for
+	 * different towns
+	 */
+	public void loadLandmarks(Path path) throws IOException;
+	
+}
@@ -0,0 +1,88 @@
+package abc;
+
+/*
+ *WeightBatch class
+ *
+ * New weights for roads already in a graph, such as one reading of a
+ * traffic feed, held in parallel arrays until they are applied in one go
+ * with Graph.updateWeights.
+ *
+ */
+
+import java.util.Arrays;
+
+public class WeightBatch {
+
+	private Town[] sources;
+	private Town[] destinations;
+	private int[] weights;
+	private String[] names;
+	private int size;
+
+	public WeightBatch() {
+		this(16);
+	}
+
+	public WeightBatch(int capacity) {
+		capacity = Math.max(capacity, 1);
+		sources = new Town[capacity];
+		destinations = new Town[capacity];
+		weights = new int[capacity];
+		names = new String[capacity];
+	}
+
+	//sets the weight of the cheapest road leading from source to destination
+	public void add(Town source, Town destination, int weight) {
+		add(source, destination, weight, null);
+	}
+
+	//sets the weight of the road named name leading from source to destination, the cheapest if name is null
+	public void add(Town source, Town destination, int weight, String name) {
+		if(size == weights.length) {
+			int capacity = size * 2;
+			sources = Arrays.copyOf(sources, capacity);
+			destinations = Arrays.copyOf(destinations, capacity);
+			weights = Arrays.copyOf(weights, capacity);
+			names = Arrays.copyOf(names, capacity);
+		}
+		sources[size] = source;
+		destinations[size] = destination;
+		weights[size] = weight;
+		names[size] = name;
+		size++;
+	}
+
+	//returns number of updates in the batch
+	public int size() {
+		return size;
+	}
+
+	//returns the town update i's road leads from
+	public Town getSource(int i) {
+		return sources[i];
+	}
+
+	//returns the town update i's road leads to
+	public Town getDestination(int i) {
+		return destinations[i];
+	}
+
+	//returns the new weight of update i
+	public int getWeight(int i) {
+		return weights[i];
+	}
+
+	//returns the road name of update i, or null for the cheapest road
+	public String getName(int i) {
+		return names[i];
+	}
+
+	//removes every update so the batch can be filled again
+	public void clear() {
+		Arrays.fill(sources, 0, size, null);
+		Arrays.fill(destinations, 0, size, null);
+		Arrays.fill(names, 0, size, null);
+		size = 0;
+	}
+
+}
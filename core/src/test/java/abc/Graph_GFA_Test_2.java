@@ -0,0 +1,738 @@
+package abc;
+
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class Graph_GFA_Test_2 {
+	private GraphInterface<Town,Road> graph;
+	private Town[] town;
+
+	@Before
+	public void setUp() throws Exception {
+		 graph = new Graph();
+		  town = new Town[12];
+		  
+		  for (int i = 1; i < 12; i++) {
+			  town[i] = new Town("Town_" + i);
+			  graph.addVertex(town[i]);
+		  }
+		  
+		  graph.addEdge(town[1], town[2], 2, "Road_1");
+		  graph.addEdge(town[1], town[3], 4, "Road_2");
+		  graph.addEdge(town[1], town[5], 6, "Road_3");
+		  graph.addEdge(town[3], town[7], 1, "Road_4");
+		  graph.addEdge(town[3], town[8], 2, "Road_5");
+		  graph.addEdge(town[4], town[8], 3, "Road_6");
+		  graph.addEdge(town[6], town[9], 3, "Road_7");
+		  graph.addEdge(town[9], town[10], 4, "Road_8");
+		  graph.addEdge(town[8], town[10], 2, "Road_9");
+		  graph.addEdge(town[5], town[10], 5, "Road_10");
+		  graph.addEdge(town[10], town[11], 3, "Road_11");
+		  graph.addEdge(town[2], town[11], 6, "Road_12");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		graph = null;
+	}
+
+	@Test
+	public void testGetEdge() {
+		assertEquals(new Road(town[2], town[11],6, "Road_12"), graph.getEdge(town[2], town[11]));
+		assertEquals(new Road(town[3], town[7],1, "Road_4"), graph.getEdge(town[3], town[7]));
+	}
+
+	@Test
+	public void testAddEdge() {
+		assertEquals(false, graph.containsEdge(town[3], town[5]));
+		graph.addEdge(town[3], town[5], 1, "Road_13");
+		assertEquals(true, graph.containsEdge(town[3], town[5]));
+	}
+
+	@Test
+	public void testAddVertex() {
+		Town newTown = new Town("Town_12");
+		assertEquals(false, graph.containsVertex(newTown));
+		graph.addVertex(newTown);
+		assertEquals(true, graph.containsVertex(newTown));
+	}
+
+	@Test
+	public void testAddVertexByName() {
+		Graph g = (Graph) graph;
+		assertEquals(town[3], g.getVertex("Town_3"));
+		assertNull(g.getVertex("Town_12"));
+		assertEquals(false, graph.addVertex(new Town("Town_3")));
+		assertSame(town[3], g.getVertex("Town_3"));
+		Road road = g.addEdge("Town_3", "Town_12", 4, "Road_13");
+		assertSame(town[3], road.getSource());
+		assertSame(g.getVertex("Town_12"), road.getDestination());
+		assertEquals(true, graph.containsVertex(new Town("Town_12")));
+		assertNull(g.addEdge("Town_12", "Town_3", 4, "Road_13"));
+		graph.removeVertex(new Town("Town_12"));
+		assertNull(g.getVertex("Town_12"));
+		assertEquals(false, graph.containsVertex(new Town("Town_12")));
+	}
+
+	@Test
+	public void testContainsEdge() {
+		assertEquals(true, graph.containsEdge(town[2], town[11]));
+		assertEquals(false, graph.containsEdge(town[3], town[5]));
+	}
+
+	@Test
+	public void testEdgeIndex() {
+		EdgeIndex index = new EdgeIndex();
+		HashMap<Long, RoadBucket> expected = new HashMap<Long, RoadBucket>();
+		Random random = new Random(7);
+		for(int k = 0; k < 20000; k++) {
+			int a = random.nextInt(300);
+			int b = random.nextInt(300);
+			long key = EdgeIndex.pack(a, b);
+			if(random.nextInt(3) == 0) {
+				assertSame(expected.remove(key), index.remove(b, a));
+			}
+			else {
+				RoadBucket bucket = new RoadBucket();
+				assertSame(expected.put(key, bucket), index.put(a, b, bucket));
+			}
+			assertEquals(expected.size(), index.size());
+		}
+		for(int a = 0; a < 300; a++) {
+			for(int b = 0; b < 300; b++) {
+				assertSame(expected.get(EdgeIndex.pack(a, b)), index.get(a, b));
+			}
+		}
+		assertEquals(false, graph.containsEdge(null, town[1]));
+		assertEquals(false, graph.containsEdge(town[1], new Town("Town_12")));
+		graph.removeVertex(town[2]);
+		assertEquals(false, graph.containsEdge(town[11], town[2]));
+		assertNull(graph.getEdge(town[11], town[2]));
+		graph.addVertex(town[2]);
+		graph.addEdge(town[2], town[11], 6, "Road_12");
+		assertEquals(6, graph.getEdge(town[11], town[2]).getWeight());
+	}
+
+	@Test
+	public void testParallelRoads() {
+		Graph g = (Graph) graph;
+		Road backRoad = graph.addEdge(town[1], town[2], 3, "Back_Road");
+		assertNotNull(backRoad);
+		assertNull(graph.addEdge(town[2], town[1], 5, "Back_Road"));
+		Road highway = graph.addEdge(town[1], town[2], 1, "Highway");
+		assertEquals(3, g.getEdges(town[2], town[1]).size());
+		assertSame(highway, graph.getEdge(town[1], town[2]));
+		assertSame(backRoad, g.getEdge(town[2], town[1], "Back_Road"));
+		assertEquals(true, graph.edgeSet().contains(backRoad));
+		assertEquals(4, graph.edgesOf(town[2]).size());
+		ArrayList<String> path = graph.shortestPath(town[1], town[2]);
+		assertEquals("Town_1 via Highway to Town_2 1 mi", path.get(0));
+		assertEquals(1, g.snapshot().edgesOf(town[1]).stream().filter(r -> r.contains(town[2])).count());
+
+		assertSame(highway, graph.removeEdge(town[1], town[2], -1, "Highway"));
+		assertEquals("Town_1 via Road_1 to Town_2 2 mi", graph.shortestPath(town[1], town[2]).get(0));
+		assertNull(graph.removeEdge(town[1], town[2], 4, "Back_Road"));
+		assertSame(backRoad, graph.removeEdge(town[1], town[2], 3, null));
+		assertEquals(true, graph.containsEdge(town[1], town[2]));
+		assertNotNull(graph.removeEdge(town[1], town[2], -1, "Road_1"));
+		assertEquals(false, graph.containsEdge(town[1], town[2]));
+		assertEquals(0, g.getEdges(town[1], town[2]).size());
+	}
+
+	@Test
+	public void testOneWayRoads() {
+		Graph g = (Graph) graph;
+		Road oneWay = g.addEdge(town[11], town[4], 1, "Road_13", true);
+		assertEquals(true, oneWay.isOneWay());
+		assertSame(oneWay, graph.getEdge(town[11], town[4]));
+		assertNull(graph.getEdge(town[4], town[11]));
+		assertEquals(true, graph.containsEdge(town[11], town[4]));
+		assertEquals(false, graph.containsEdge(town[4], town[11]));
+		assertNotNull(g.addEdge(town[4], town[11], 1, "Road_13", true));
+		assertNull(g.addEdge(town[11], town[4], 1, "Road_13", true));
+		assertNull(graph.removeEdge(town[4], town[11], 1, "Road_12"));
+		assertNotNull(graph.removeEdge(town[4], town[11], -1, "Road_13"));
+		for(RoutingAlgorithm algorithm : RoutingAlgorithm.values()) {
+			g.setRoutingAlgorithm(algorithm);
+			ArrayList<String> there = graph.shortestPath(town[11], town[4]);
+			assertEquals(1, there.size());
+			assertEquals("Town_11 via Road_13 to Town_4 1 mi", there.get(0));
+			ArrayList<String> back = graph.shortestPath(town[4], town[11]);
+			assertEquals(3, back.size());
+			assertEquals("Town_10 via Road_11 to Town_11 3 mi", back.get(2));
+		}
+		GraphSnapshot view = g.snapshot();
+		assertEquals(1, view.degree(g.idOf(town[4])));
+		assertEquals(2, view.inDegree(g.idOf(town[4])));
+	}
+
+	@Test(timeout = 10000)
+	public void testDynamicShortestPathTreeLockFree() throws InterruptedException {
+		Graph g = (Graph) graph;
+		DynamicShortestPathTree depot = g.maintainShortestPathTree(town[1]);
+		g.addEdge(town[1], town[10], 1, "Bypass");
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread writer = new Thread(() -> {
+			synchronized(g) {
+				locked.countDown();
+				try {
+					release.await();
+				}
+				catch(InterruptedException e) {
+				}
+			}
+		});
+		writer.start();
+		locked.await();
+		try {
+			//tree queries only take the tree's lock, not the graph's
+			assertEquals(1, depot.distanceTo(town[10]));
+			assertEquals(true, depot.isReachable(town[11]));
+			assertEquals("Town_1 via Bypass to Town_10 1 mi", depot.pathTo(town[10]).get(0));
+		}
+		finally {
+			release.countDown();
+		}
+		writer.join();
+	}
+
+	@Test
+	public void testDynamicShortestPathTree() {
+		Graph g = (Graph) graph;
+		DynamicShortestPathTree depot = g.maintainShortestPathTree(town[1]);
+		assertEquals(8, depot.distanceTo(town[10]));
+		assertEquals("Town_8 via Road_9 to Town_10 2 mi", depot.pathTo(town[10]).get(2));
+		graph.addEdge(town[1], town[10], 1, "Bypass");
+		assertEquals(1, depot.distanceTo(town[10]));
+		assertEquals(4, depot.distanceTo(town[11]));
+		graph.removeEdge(town[1], town[10], -1, "Bypass");
+		assertEquals(8, depot.distanceTo(town[10]));
+		graph.removeVertex(town[8]);
+		assertEquals(11, depot.distanceTo(town[10]));
+		assertEquals(-1, depot.distanceTo(town[4]));
+		assertEquals(true, g.stopMaintaining(depot));
+		assertEquals(false, depot.isReachable(town[1]));
+
+		//random edits, each checked against a tree searched from scratch
+		Random random = new Random(11);
+		Town[] depots = {town[2], town[6], town[11]};
+		DynamicShortestPathTree[] trees = new DynamicShortestPathTree[depots.length];
+		for(int i = 0; i < depots.length; i++) {
+			trees[i] = g.maintainShortestPathTree(depots[i]);
+		}
+		for(int step = 0; step < 400; step++) {
+			Town a = new Town("Town_" + (1 + random.nextInt(20)));
+			Town b = new Town("Town_" + (1 + random.nextInt(20)));
+			String name = "Road_" + random.nextInt(4);
+			int choice = random.nextInt(10);
+			if(choice < 5)
+				g.addEdge(a.getName(), b.getName(), random.nextInt(10), name, random.nextBoolean());
+			else if(choice < 9)
+				graph.removeEdge(a, b, -1, name);
+			else if(!Arrays.asList(depots).contains(a))
+				graph.removeVertex(a);
+			for(int i = 0; i < depots.length; i++) {
+				ShortestPathTree expected = g.shortestPathTree(depots[i]);
+				for(Town t : new ArrayList<Town>(graph.vertexSet())) {
+					assertEquals(expected.distanceTo(t), trees[i].distanceTo(t));
+					ArrayList<String> path = trees[i].pathTo(t);
+					long length = 0;
+					for(String leg : path == null ? new ArrayList<String>() : path) {
+						length += Long.parseLong(leg.split(" ")[leg.split(" ").length - 2]);
+					}
+					assertEquals(Math.max(0, expected.distanceTo(t)), length);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testUpdateWeights() {
+		Graph g = (Graph) graph;
+		Road highway = graph.addEdge(town[1], town[2], 1, "Highway");
+		Road oneWay = g.addEdge(town[11], town[4], 1, "Road_13", true);
+		DynamicShortestPathTree depot = g.maintainShortestPathTree(town[1]);
+		GraphSnapshot before = g.snapshot();
+		long version = g.getVersion();
+		WeightBatch batch = new WeightBatch();
+		batch.add(town[2], town[1], 9, "Highway");
+		batch.add(town[2], town[1], 7);
+		batch.add(town[4], town[11], 2);
+		batch.add(town[3], town[5], 2);
+		batch.add(new Town("Town_11"), new Town("Town_4"), 1);
+		assertEquals(2, g.updateWeights(batch));
+		assertEquals(true, g.getVersion() > version);
+		//roads handed out before the batch keep their weight
+		assertEquals(1, highway.getWeight());
+		assertEquals(7, graph.getEdge(town[1], town[2]).getWeight());
+		assertEquals("Road_1", graph.getEdge(town[1], town[2]).getName());
+		assertEquals(highway, g.getEdges(town[1], town[2]).get(1));
+		assertEquals(9, g.getEdges(town[1], town[2]).get(1).getWeight());
+		assertEquals(true, graph.edgeSet().contains(highway));
+		assertEquals(9, graph.edgesOf(town[2]).stream().filter(r -> "Highway".equals(r.getName())).findFirst().get().getWeight());
+		assertEquals(1, oneWay.getWeight());
+		assertEquals(7, depot.distanceTo(town[2]));
+		assertEquals("Town_1 via Road_1 to Town_2 7 mi", graph.shortestPath(town[1], town[2]).get(0));
+		assertEquals("Town_1 via Highway to Town_2 1 mi", g.shortestPath(before, town[1], town[2]).get(0));
+
+		version = g.getVersion();
+		batch.clear();
+		batch.add(town[1], town[2], 7);
+		assertEquals(0, g.updateWeights(batch));
+		assertEquals(version, g.getVersion());
+		batch.add(town[1], town[3], -1);
+		try {
+			g.updateWeights(batch);
+			fail("negative weight accepted");
+		}
+		catch(IllegalArgumentException e) {
+			assertEquals(version, g.getVersion());
+		}
+
+		//random feeds, each checked against a tree searched from scratch
+		Random random = new Random(5);
+		for(int step = 0; step < 200; step++) {
+			batch.clear();
+			for(int i = 0; i < 4; i++) {
+				Road road = g.edgeSet().stream().skip(random.nextInt(g.edgeSet().size())).findFirst().get();
+				batch.add(road.getSource(), road.getDestination(), random.nextInt(12), road.getName());
+			}
+			g.updateWeights(batch);
+			ShortestPathTree expected = g.shortestPathTree(town[1]);
+			for(int i = 1; i < 12; i++) {
+				assertEquals(expected.distanceTo(town[i]), depot.distanceTo(town[i]));
+			}
+		}
+	}
+
+	@Test
+	public void testNegativeWeights() {
+		Graph g = (Graph) graph;
+		long version = g.getVersion();
+		try {
+			graph.addEdge(town[1], town[4], -1, "Road_13");
+			fail("negative weight accepted");
+		}
+		catch(IllegalArgumentException e) {
+		}
+		try {
+			g.addEdge("Town_1", "Town_12", -1, "Road_13");
+			fail("negative weight accepted");
+		}
+		catch(IllegalArgumentException e) {
+		}
+		RoadBatch batch = new RoadBatch();
+		batch.add(town[1], town[4], 1, "Road_13");
+		batch.add(town[4], town[6], -2, "Road_14");
+		try {
+			g.addEdges(batch);
+			fail("negative weight accepted");
+		}
+		catch(IllegalArgumentException e) {
+		}
+		assertEquals(version, g.getVersion());
+		assertEquals(false, graph.containsEdge(town[1], town[4]));
+		assertNull(g.getVertex("Town_12"));
+	}
+
+	@Test
+	public void testAddEdgesUnchanged() {
+		Graph g = (Graph) graph;
+		RoadBatch batch = new RoadBatch();
+		batch.add(new Town("Town_1"), new Town("Town_2"), 2, "Road_1");
+		batch.add(new Town("Town_3"), new Town("Town_7"), 1, "Road_4");
+		GraphSnapshot view = g.snapshot();
+		long version = g.getVersion();
+		assertEquals(0, g.addEdges(batch));
+		assertEquals(version, g.getVersion());
+		assertSame(view, g.snapshot());
+		batch.add(new Town("Town_12"), null, 1, "Road_13");
+		try {
+			g.addEdges(batch);
+			fail("null town accepted");
+		}
+		catch(NullPointerException e) {
+		}
+		assertEquals(version, g.getVersion());
+		batch = new RoadBatch();
+		batch.add(new Town("Town_12"), new Town("Town_1"), 2, "Road_1");
+		assertEquals(1, g.addEdges(batch));
+		assertEquals(true, g.getVersion() > version);
+	}
+
+	@Test(timeout = 10000)
+	public void testSnapshotPublished() throws InterruptedException {
+		Graph g = (Graph) graph;
+		GraphSnapshot before = g.snapshot();
+		g.addEdge(town[1], town[11], 4, "Road_13");
+		g.addEdge(town[4], town[11], 5, "Road_14");
+		//edits only bump the version; the next read builds one snapshot for both
+		GraphSnapshot built = g.snapshot();
+		assertNotSame(before, built);
+		assertTrue(built.containsEdge(town[4], town[11]));
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread writer = new Thread(() -> {
+			synchronized(g) {
+				locked.countDown();
+				try {
+					release.await();
+				}
+				catch(InterruptedException e) {
+				}
+			}
+		});
+		writer.start();
+		locked.await();
+		try {
+			//the snapshot of the current version is read without the lock
+			GraphSnapshot view = g.snapshot();
+			assertSame(built, view);
+			assertEquals(g.getVersion(), view.getVersion());
+			assertTrue(view.containsEdge(town[1], town[11]));
+		}
+		finally {
+			release.countDown();
+		}
+		writer.join();
+	}
+
+	@Test
+	public void testContainsVertex() {
+		assertEquals(true, graph.containsVertex(new Town("Town_2")));
+		assertEquals(false, graph.containsVertex(new Town("Town_12")));
+	}
+
+	@Test
+	public void testEdgeSet() {
+		Set<Road> roads = graph.edgeSet();
+		ArrayList<String> roadArrayList = new ArrayList<String>();
+		for(Road road : roads)
+			roadArrayList.add(road.getName());
+		Collections.sort(roadArrayList);
+		assertEquals("Road_1", roadArrayList.get(0));
+		assertEquals("Road_10", roadArrayList.get(1));
+		assertEquals("Road_11", roadArrayList.get(2));
+		assertEquals("Road_12", roadArrayList.get(3));
+		assertEquals("Road_2", roadArrayList.get(4));
+		assertEquals("Road_8", roadArrayList.get(10));
+	}
+
+	@Test
+	public void testEdgesOf() {
+		Set<Road> roads = graph.edgesOf(town[1]);
+		ArrayList<String> roadArrayList = new ArrayList<String>();
+		for(Road road : roads)
+			roadArrayList.add(road.getName());
+		Collections.sort(roadArrayList);
+		assertEquals("Road_1", roadArrayList.get(0));
+		assertEquals("Road_2", roadArrayList.get(1));
+		assertEquals("Road_3", roadArrayList.get(2));
+	}
+	
+	@Test
+	public void testRemoveEdge() {
+		assertEquals(true, graph.containsEdge(town[2], town[11]));
+		graph.removeEdge(town[2], town[11], 6, "Road_12");
+		assertEquals(false, graph.containsEdge(town[2], town[11]));
+	}
+	
+	@Test
+	public void testRemoveVertex() {
+		assertEquals(true, graph.containsVertex(town[2]));
+		graph.removeVertex(town[2]);
+		assertEquals(false, graph.containsVertex(town[2]));
+	}
+
+	@Test
+	public void testIncidentRoads() {
+		Graph g = (Graph) graph;
+		//parallel roads each show up in the incidence sets of both towns
+		Road highway = graph.addEdge(town[1], town[2], 1, "Highway");
+		assertEquals(4, graph.edgesOf(town[1]).size());
+		assertEquals(3, graph.edgesOf(town[2]).size());
+		assertEquals(true, graph.edgesOf(town[2]).contains(highway));
+		graph.removeEdge(town[1], town[2], -1, "Road_1");
+		assertEquals(3, graph.edgesOf(town[1]).size());
+		assertEquals(true, graph.edgesOf(town[2]).contains(highway));
+		assertEquals(true, graph.containsEdge(town[2], town[1]));
+
+		//removing a town drops its roads from the graph and from its neighbours
+		int roads = graph.edgeSet().size();
+		graph.removeVertex(town[10]);
+		assertEquals(roads - 4, graph.edgeSet().size());
+		assertEquals(1, graph.edgesOf(town[11]).size());
+		assertEquals(false, graph.containsEdge(town[8], town[10]));
+		assertNull(graph.getEdge(town[9], town[10]));
+		assertEquals(false, town[11].getAdjacent().contains(town[10]));
+
+		//a new town takes the freed id without inheriting any of the old town's roads
+		int freed = g.idOf(town[2]);
+		graph.removeVertex(town[2]);
+		assertEquals(-1, g.idOf(town[2]));
+		Town reused = new Town("Town_12");
+		graph.addVertex(reused);
+		assertEquals(freed, g.idOf(reused));
+		assertEquals(0, graph.edgesOf(reused).size());
+		assertEquals(false, graph.containsEdge(town[1], reused));
+		assertEquals(0, g.snapshot().degree(freed));
+		graph.addEdge(reused, town[1], 3, "Road_13");
+		assertEquals("Town_1 via Road_13 to Town_12 3 mi", graph.shortestPath(town[1], reused).get(0));
+		graph.addVertex(town[2]);
+		assertEquals(0, graph.edgesOf(town[2]).size());
+		assertNull(graph.shortestPath(town[1], town[2]));
+	}
+
+	@Test
+	public void testVertexSet() {
+		Set<Town> roads = graph.vertexSet();
+		assertEquals(true,roads.contains(town[1]));
+		assertEquals(true, roads.contains(town[10]));
+		assertEquals(true, roads.contains(town[11]));
+		assertEquals(true, roads.contains(town[2]));
+		assertEquals(true, roads.contains(town[3]));
+	}
+
+	 @Test
+	  public void testTown_1ToTown_11() {
+		  String beginTown = "Town_1", endTown = "Town_11";
+		  Town beginIndex=null, endIndex=null;
+		  Set<Town> towns = graph.vertexSet();
+		  Iterator<Town> iterator = towns.iterator();
+		  while(iterator.hasNext())
+		  {    	
+			  Town town = iterator.next();
+			  if(town.getName().equals(beginTown))
+				  beginIndex = town;
+			  if(town.getName().equals(endTown))
+				  endIndex = town;		
+		  }
+		  if(beginIndex != null && endIndex != null)
+		  {
+
+			  ArrayList<String> path = graph.shortestPath(beginIndex,endIndex);
+			  assertNotNull(path);
+			  assertTrue(path.size() > 0);
+			  assertEquals("Town_1 via Road_1 to Town_2 2 mi",path.get(0).trim());
+			  assertEquals("Town_2 via Road_12 to Town_11 6 mi",path.get(1).trim());
+		  }
+		  else
+			  fail("Town names are not valid");
+
+	  }
+	  
+	  
+	  @Test
+	  public void testTown1ToTown_10() {
+		  String beginTown = "Town_1", endTown = "Town_10";
+		  Town beginIndex=null, endIndex=null;
+		  Set<Town> towns = graph.vertexSet();
+		  Iterator<Town> iterator = towns.iterator();
+		  while(iterator.hasNext())
+		  {    	
+			  Town town = iterator.next();
+			  if(town.getName().equals(beginTown))
+				  beginIndex = town;
+			  if(town.getName().equals(endTown))
+				  endIndex = town;		
+		  }
+		  if(beginIndex != null && endIndex != null)
+		  {
+
+			  ArrayList<String> path = graph.shortestPath(beginIndex,endIndex);
+			  assertNotNull(path);
+			  assertTrue(path.size() > 0);
+			  assertEquals("Town_1 via Road_2 to Town_3 4 mi",path.get(0).trim());
+			  assertEquals("Town_3 via Road_5 to Town_8 2 mi",path.get(1).trim());
+			  assertEquals("Town_8 via Road_9 to Town_10 2 mi",path.get(2).trim());
+		  }
+		  else
+			  fail("Town names are not valid");
+
+	  }
+	  
+	  @Test
+	  public void testTown_4ToTown_11() {
+		  String beginTown = "Town_4", endTown = "Town_11";
+		  Town beginIndex=null, endIndex=null;
+		  Set<Town> towns = graph.vertexSet();
+		  Iterator<Town> iterator = towns.iterator();
+		  while(iterator.hasNext())
+		  {    	
+			  Town town = iterator.next();
+			  if(town.getName().equals(beginTown))
+				  beginIndex = town;
+			  if(town.getName().equals(endTown))
+				  endIndex = town;		
+		  }
+		  if(beginIndex != null && endIndex != null)
+		  {
+
+			  ArrayList<String> path = graph.shortestPath(beginIndex,endIndex);
+			  assertNotNull(path);
+			  assertTrue(path.size() > 0);
+			  assertEquals("Town_4 via Road_6 to Town_8 3 mi",path.get(0).trim());
+			  assertEquals("Town_8 via Road_9 to Town_10 2 mi",path.get(1).trim());
+			  assertEquals("Town_10 via Road_11 to Town_11 3 mi",path.get(2).trim());
+		  }
+		  else
+			  fail("Town names are not valid");
+
+	  }
+	  
+	  @Test
+	  public void testSnapshot() {
+		  GraphSnapshot snapshot = ((Graph) graph).snapshot();
+		  assertEquals(12, snapshot.edgeCount());
+		  assertEquals(true, snapshot.containsEdge(town[2], town[11]));
+		  assertEquals(true, snapshot.containsEdge(town[11], town[2]));
+		  assertEquals(false, snapshot.containsEdge(town[3], town[5]));
+		  assertEquals(3, snapshot.edgesOf(town[1]).size());
+		  ArrayList<String> path = snapshot.shortestPath(town[4], town[11]);
+		  assertEquals("Town_4 via Road_6 to Town_8 3 mi", path.get(0));
+		  assertEquals("Town_10 via Road_11 to Town_11 3 mi", path.get(2));
+		  
+		  graph.addEdge(town[3], town[5], 1, "Road_13");
+		  assertEquals(false, snapshot.containsEdge(town[3], town[5]));
+		  assertEquals(true, ((Graph) graph).snapshot().containsEdge(town[3], town[5]));
+	  }
+	  
+	  @Test
+	  public void testShortestPathTree() {
+		  ShortestPathTree tree = ((Graph) graph).shortestPathTree(town[1]);
+		  assertEquals(8, tree.distanceTo(town[11]));
+		  assertEquals(8, tree.distanceTo(town[10]));
+		  assertEquals(15, tree.distanceTo(town[6]));
+		  assertEquals(graph.shortestPath(town[1], town[6]), tree.pathTo(town[6]));
+		  
+		  Town town12 = new Town("Town_12");
+		  graph.addVertex(town12);
+		  Map<Town, ArrayList<String>> paths = ((Graph) graph).shortestPaths(town[1],
+				  Arrays.asList(town[11], town12));
+		  assertEquals(2, paths.get(town[11]).size());
+		  assertNull(paths.get(town12));
+	  }
+	  
+	  @Test
+	  public void testBidirectionalShortestPath() {
+		  ArrayList<String> expected = graph.shortestPath(town[4], town[6]);
+		  ((Graph) graph).setRoutingAlgorithm(RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA);
+		  assertEquals(expected, graph.shortestPath(town[4], town[6]));
+		  ArrayList<String> path = graph.shortestPath(town[1], town[10]);
+		  assertEquals("Town_1 via Road_2 to Town_3 4 mi", path.get(0));
+		  assertEquals("Town_3 via Road_5 to Town_8 2 mi", path.get(1));
+		  assertEquals("Town_8 via Road_9 to Town_10 2 mi", path.get(2));
+	  }
+	  
+	  @Test
+	  public void testContractionHierarchy() {
+		  ContractionHierarchy hierarchy = ((Graph) graph).contractionHierarchy();
+		  for(int i = 1; i < 12; i++) {
+			  for(int j = 1; j < 12; j++) {
+				  assertEquals(graph.shortestPath(town[i], town[j]), hierarchy.shortestPath(town[i], town[j]));
+			  }
+		  }
+		  graph.addEdge(town[1], town[11], 1, "Road_13");
+		  ((Graph) graph).setRoutingAlgorithm(RoutingAlgorithm.CONTRACTION_HIERARCHY);
+		  ArrayList<String> path = graph.shortestPath(town[2], town[11]);
+		  assertEquals("Town_2 via Road_1 to Town_1 2 mi", path.get(0));
+		  assertEquals("Town_1 via Road_13 to Town_11 1 mi", path.get(1));
+	  }
+
+	  @Test
+	  public void testLandmarkTable() {
+		  ((Graph) graph).setLandmarkCount(3);
+		  LandmarkTable landmarks = ((Graph) graph).landmarkTable();
+		  assertEquals(3, landmarks.getLandmarkCount());
+		  GraphSnapshot snapshot = ((Graph) graph).snapshot();
+		  ShortestPathTree tree = ((Graph) graph).shortestPathTree(town[1]);
+		  for(int j = 1; j < 12; j++) {
+			  long estimate = landmarks.estimate(snapshot, snapshot.idOf(town[1]), snapshot.idOf(town[j]));
+			  assertTrue(estimate <= tree.distanceTo(town[j]));
+		  }
+		  ArrayList<ArrayList<String>> expected = new ArrayList<ArrayList<String>>();
+		  for(int i = 1; i < 12; i++) {
+			  for(int j = 1; j < 12; j++) {
+				  expected.add(graph.shortestPath(town[i], town[j]));
+			  }
+		  }
+		  ((Graph) graph).setRoutingAlgorithm(RoutingAlgorithm.ALT);
+		  int k = 0;
+		  for(int i = 1; i < 12; i++) {
+			  for(int j = 1; j < 12; j++) {
+				  assertEquals(expected.get(k++).size(), graph.shortestPath(town[i], town[j]).size());
+			  }
+		  }
+	  }
+
+	  @Test
+	  public void testDistanceMatrix() throws Exception {
+		  graph.addVertex(new Town("Town_12"));
+		  DistanceMatrix matrix = ((Graph) graph).distanceMatrix();
+		  File file = File.createTempFile("towns", ".matrix");
+		  file.deleteOnExit();
+		  DistanceMatrix mapped = DistanceMatrix.compute(((Graph) graph).snapshot(), 3, file.toPath());
+		  assertEquals(true, mapped.isMapped());
+		  for(int i = 1; i < 12; i++) {
+			  ShortestPathTree tree = ((Graph) graph).shortestPathTree(town[i]);
+			  for(int j = 1; j < 12; j++) {
+				  assertEquals(tree.distanceTo(town[j]), matrix.distance(town[i], town[j]));
+				  assertEquals(tree.distanceTo(town[j]), mapped.distance(town[i], town[j]));
+			  }
+			  assertEquals(DistanceMatrix.NO_PATH, matrix.distance(town[i], new Town("Town_12")));
+		  }
+	  }
+
+	  @Test
+	  @SuppressWarnings("unchecked")
+	  public void testConcurrentQueries() throws Exception {
+		  ArrayList<ArrayList<String>> expected = new ArrayList<ArrayList<String>>();
+		  for(int i = 1; i < 12; i++) {
+			  for(int j = 1; j < 12; j++) {
+				  expected.add(graph.shortestPath(town[i], town[j]));
+			  }
+		  }
+		  for(RoutingAlgorithm algorithm : RoutingAlgorithm.values()) {
+			  ((Graph) graph).setRoutingAlgorithm(algorithm);
+			  ArrayList<String>[][] results = new ArrayList[4][];
+			  Thread[] threads = new Thread[results.length];
+			  for(int t = 0; t < threads.length; t++) {
+				  final int slot = t;
+				  threads[t] = new Thread(() -> {
+					  results[slot] = new ArrayList[121];
+					  for(int round = 0; round < 50; round++) {
+						  for(int k = 0; k < 121; k++) {
+							  results[slot][k] = graph.shortestPath(town[k / 11 + 1], town[k % 11 + 1]);
+						  }
+					  }
+				  });
+				  threads[t].start();
+			  }
+			  for(Thread thread : threads) {
+				  thread.join();
+			  }
+			  for(ArrayList<String>[] result : results) {
+				  for(int k = 0; k < 121; k++) {
+					  assertEquals(expected.get(k).size(), result[k].size());
+				  }
+			  }
+		  }
+	  }
+}
@@ -0,0 +1,772 @@
+package abc;
+
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class TownGraphManagerTest {
+	private TownGraphManagerInterface graph;
+	private String[] town;
+	  
+	@Before
+	public void setUp() throws Exception {
+		  graph = new TownGraphManager();
+		  town = new String[12];
+		  
+		  for (int i = 1; i < 12; i++) {
+			  town[i] = "Town_" + i;
+			  graph.addTown(town[i]);
+		  }
+		  
+		  graph.addRoad(town[1], town[2], 2, "Road_1");
+		  graph.addRoad(town[1], town[3], 4, "Road_2");
+		  graph.addRoad(town[1], town[5], 6, "Road_3");
+		  graph.addRoad(town[3], town[7], 1, "Road_4");
+		  graph.addRoad(town[3], town[8], 2, "Road_5");
+		  graph.addRoad(town[4], town[8], 3, "Road_6");
+		  graph.addRoad(town[6], town[9], 3, "Road_7");
+		  graph.addRoad(town[9], town[10], 4, "Road_8");
+		  graph.addRoad(town[8], town[10], 2, "Road_9");
+		  graph.addRoad(town[5], town[10], 5, "Road_10");
+		  graph.addRoad(town[10], town[11], 3, "Road_11");
+		  graph.addRoad(town[2], town[11], 6, "Road_12");
+		 
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		graph = null;
+	}
+
+	@Test
+	public void testAddRoad() {
+		ArrayList<String> roads = graph.allRoads();
+		assertEquals("Road_1", roads.get(0));
+		assertEquals("Road_10", roads.get(1));
+		assertEquals("Road_11", roads.get(2));
+		assertEquals("Road_12", roads.get(3));
+		graph.addRoad(town[4], town[11], 1,"Road_13");
+		roads = graph.allRoads();
+		assertEquals("Road_1", roads.get(0));
+		assertEquals("Road_10", roads.get(1));
+		assertEquals("Road_11", roads.get(2));
+		assertEquals("Road_12", roads.get(3));
+		assertEquals("Road_13", roads.get(4));
+		
+	}
+
+	@Test
+	public void testGetRoad() {
+		assertEquals("Road_12", graph.getRoad(town[2], town[11]));
+		assertEquals("Road_4", graph.getRoad(town[3], town[7]));
+	}
+
+	@Test
+	public void testAddTown() {
+		assertEquals(false, graph.containsTown("Town_12"));
+		graph.addTown("Town_12");
+		assertEquals(true, graph.containsTown("Town_12"));
+	}
+
+	@Test
+	public void testGetTown() {
+		Town found = graph.getTown(town[4]);
+		assertEquals(town[4], found.getName());
+		assertSame(found, graph.getTown(town[4]));
+		assertNull(graph.getTown("Town_12"));
+		graph.addRoad(town[4], "Town_12", 2, "Road_13");
+		assertSame(found, graph.getTown(town[4]));
+		assertEquals("Road_13", graph.getRoad("Town_12", town[4]));
+		assertEquals(false, graph.addRoad(town[4], "Town_12", 2, "Road_13"));
+	}
+	
+	@Test
+	public void testDisjointGraph() {
+		assertEquals(false, graph.containsTown("Town_12"));
+		graph.addTown("Town_12");
+		ArrayList<String> path = graph.getPath(town[1],"Town_12");
+		assertFalse(path.size() > 0);
+	}
+
+	@Test
+	public void testContainsTown() {
+		assertEquals(true, graph.containsTown("Town_2"));
+		assertEquals(false, graph.containsTown("Town_12"));
+	}
+
+	@Test
+	public void testContainsRoadConnection() {
+		assertEquals(true, graph.containsRoadConnection(town[2], town[11]));
+		assertEquals(false, graph.containsRoadConnection(town[3], town[5]));
+	}
+
+	@Test
+	public void testAllRoads() {
+		ArrayList<String> roads = graph.allRoads();
+		assertEquals("Road_1", roads.get(0));
+		assertEquals("Road_10", roads.get(1));
+		assertEquals("Road_11", roads.get(2));
+		assertEquals("Road_8", roads.get(10));
+		assertEquals("Road_9", roads.get(11));
+	}
+
+	@Test
+	public void testDeleteRoadConnection() {
+		assertEquals(true, graph.containsRoadConnection(town[2], town[11]));
+		graph.deleteRoadConnection(town[2], town[11], "Road_12");
+		assertEquals(false, graph.containsRoadConnection(town[2], town[11]));
+	}
+
+	@Test
+	public void testParallelRoads() throws Exception {
+		assertEquals(true, graph.addRoad(town[2], town[11], 1, "Highway"));
+		assertEquals(false, graph.addRoad(town[11], town[2], 9, "Highway"));
+		assertEquals("Highway", graph.getRoad(town[2], town[11]));
+		assertEquals(13, graph.allRoads().size());
+		File file = File.createTempFile("towns", ".graph");
+		file.deleteOnExit();
+		graph.save(file.toPath());
+		graph.load(file.toPath());
+		assertEquals(13, graph.allRoads().size());
+		assertEquals("Town_2 via Highway to Town_11 1 mi", graph.getPath(town[2], town[11]).get(0));
+		assertEquals(false, graph.deleteRoadConnection(town[2], town[11], "Back_Road"));
+		assertEquals(true, graph.deleteRoadConnection(town[2], town[11], "Highway"));
+		assertEquals("Road_12", graph.getRoad(town[2], town[11]));
+		assertEquals("Town_2 via Road_12 to Town_11 6 mi", graph.getPath(town[2], town[11]).get(0));
+	}
+
+	@Test
+	public void testMaintainShortestPathTree() throws Exception {
+		assertNull(graph.maintainShortestPathTree("Town_12"));
+		DynamicShortestPathTree depot = graph.maintainShortestPathTree(town[2]);
+		Town destination = graph.getTown(town[10]);
+		assertEquals(9, depot.distanceTo(destination));
+		graph.addRoad(town[2], town[10], 3, "Highway");
+		assertEquals(3, depot.distanceTo(destination));
+		assertEquals("Town_2 via Highway to Town_10 3 mi", depot.pathTo(destination).get(0));
+		graph.deleteRoadConnection(town[2], town[10], null);
+		graph.deleteRoadConnection(town[10], town[11], "Road_11");
+		assertEquals(10, depot.distanceTo(destination));
+		assertEquals(graph.getPath(town[2], town[10]), depot.pathTo(destination));
+	}
+
+	@Test
+	public void testUpdateWeights() {
+		assertEquals(2, graph.getPath(town[1], town[8]).size());
+		WeightBatch batch = new WeightBatch();
+		batch.add(new Town(town[3]), new Town(town[8]), 20);
+		batch.add(new Town(town[7]), new Town(town[3]), 5);
+		batch.add(new Town(town[1]), new Town(town[6]), 1);
+		assertEquals(2, graph.updateWeights(batch));
+		ArrayList<String> path = graph.getPath(town[1], town[8]);
+		assertEquals("Town_10 via Road_9 to Town_8 2 mi", path.get(path.size() - 1));
+		assertEquals("Town_3 via Road_4 to Town_7 5 mi", graph.getPath(town[3], town[7]).get(0));
+	}
+
+	@Test
+	public void testDeleteTown() {
+		assertEquals(true, graph.containsTown("Town_2"));
+		graph.deleteTown(town[2]);
+		assertEquals(false, graph.containsTown("Town_2"));
+	}
+	
+	@Test
+	public void testAllTowns() {
+		ArrayList<String> roads = graph.allTowns();
+		assertEquals("Town_1", roads.get(0));
+		assertEquals("Town_10", roads.get(1));
+		assertEquals("Town_11", roads.get(2));
+		assertEquals("Town_2", roads.get(3));
+		assertEquals("Town_8", roads.get(9));
+	}
+
+	@Test
+	public void testGetPath() {
+		ArrayList<String> path = graph.getPath(town[1],town[11]);
+		  assertNotNull(path);
+		  assertTrue(path.size() > 0);
+		  assertEquals("Town_1 via Road_1 to Town_2 2 mi",path.get(0).trim());
+		  assertEquals("Town_2 via Road_12 to Town_11 6 mi",path.get(1).trim());
+
+	}
+	
+	@Test
+	public void testGetPathA() {
+		ArrayList<String> path = graph.getPath(town[1],town[10]);
+		  assertNotNull(path);
+		  assertTrue(path.size() > 0);
+		  assertEquals("Town_1 via Road_2 to Town_3 4 mi",path.get(0).trim());
+		  assertEquals("Town_3 via Road_5 to Town_8 2 mi",path.get(1).trim());
+		  assertEquals("Town_8 via Road_9 to Town_10 2 mi",path.get(2).trim());
+	}
+	
+	@Test
+	public void testGetPathB() {
+		ArrayList<String> path = graph.getPath(town[1],town[6]);
+		  assertNotNull(path);
+		  assertTrue(path.size() > 0);
+		  assertEquals("Town_1 via Road_2 to Town_3 4 mi",path.get(0).trim());
+		  assertEquals("Town_3 via Road_5 to Town_8 2 mi",path.get(1).trim());
+		  assertEquals("Town_8 via Road_9 to Town_10 2 mi",path.get(2).trim());
+		  assertEquals("Town_10 via Road_8 to Town_9 4 mi",path.get(3).trim());
+		  assertEquals("Town_9 via Road_7 to Town_6 3 mi",path.get(4).trim());
+
+	}
+
+	@Test
+	public void testPopulateTownGraph() throws Exception {
+		File file = File.createTempFile("roads", ".txt");
+		file.deleteOnExit();
+		PrintWriter out = new PrintWriter(file);
+		out.println("Road_13, 7;Town_11;Town_12");
+		out.println("Road_14,1;Town_12;Town_13");
+		out.close();
+		graph.populateTownGraph(file);
+		assertEquals(true, graph.containsTown("Town_13"));
+		assertEquals("Road_13", graph.getRoad("Town_11", "Town_12"));
+		ArrayList<String> path = graph.getPath(town[10], "Town_13");
+		assertEquals("Town_10 via Road_11 to Town_11 3 mi", path.get(0));
+		assertEquals("Town_11 via Road_13 to Town_12 7 mi", path.get(1));
+		assertEquals("Town_12 via Road_14 to Town_13 1 mi", path.get(2));
+	}
+	
+	@Test
+	public void testPopulateTownGraphMalformed() throws Exception {
+		File file = File.createTempFile("roads", ".txt");
+		file.deleteOnExit();
+		PrintWriter out = new PrintWriter(file);
+		out.println("Road_13,7;Town_11;Town_12");
+		out.println("Road_14,1x;Town_12;Town_13");
+		out.close();
+		try {
+			graph.populateTownGraph(file);
+			fail("malformed line was accepted");
+		}
+		catch(RoadFileFormatException e) {
+			assertEquals(2, e.getLine());
+			assertEquals(10, e.getColumn());
+		}
+		assertEquals(false, graph.containsTown("Town_12"));
+	}
+
+	@Test
+	public void testPopulateTownGraphNegativeDistance() throws Exception {
+		File file = File.createTempFile("roads", ".txt");
+		file.deleteOnExit();
+		PrintWriter out = new PrintWriter(file);
+		out.println("Road_13,+7;Town_11;Town_12");
+		out.println("Road_14, -1;Town_12;Town_13");
+		out.close();
+		try {
+			graph.populateTownGraph(file);
+			fail("negative distance was accepted");
+		}
+		catch(RoadFileFormatException e) {
+			assertEquals(2, e.getLine());
+			assertEquals(10, e.getColumn());
+		}
+		try {
+			graph.populateTownGraphMapped(file);
+			fail("negative distance was accepted");
+		}
+		catch(RoadFileFormatException e) {
+			assertEquals(2, e.getLine());
+		}
+		assertEquals(false, graph.containsTown("Town_12"));
+	}
+
+	@Test
+	public void testPopulateTownGraphMapped() throws Exception {
+		File file = File.createTempFile("roads", ".txt");
+		file.deleteOnExit();
+		PrintWriter out = new PrintWriter(file);
+		for(int i = 12; i < 200; i++) {
+			out.println("Road_" + (i + 1) + "," + 1 + ";Town_" + (i - 1) + ";Town_" + i);
+		}
+		out.close();
+		graph.populateTownGraphMapped(file);
+		assertEquals(true, graph.containsTown("Town_199"));
+		assertEquals("Road_200", graph.getRoad("Town_198", "Town_199"));
+		assertEquals(190, graph.getPath(town[1], "Town_199").size());
+	}
+
+	@Test
+	public void testOneWayRoads() throws Exception {
+		File file = File.createTempFile("roads", ".txt");
+		file.deleteOnExit();
+		PrintWriter out = new PrintWriter(file);
+		out.println("Road_13, >1;Town_11;Town_4");
+		out.close();
+		graph.populateTownGraph(file);
+		assertEquals(true, graph.addOneWayRoad("Town_4", "Town_12", 2, "Road_14"));
+		assertEquals("Road_13", graph.getRoad("Town_11", "Town_4"));
+		assertNull(graph.getRoad("Town_12", "Town_4"));
+		File graphFile = File.createTempFile("towns", ".graph");
+		graphFile.deleteOnExit();
+		graph.save(graphFile.toPath());
+		graph.load(graphFile.toPath());
+		assertEquals(false, graph.containsRoadConnection("Town_4", "Town_11"));
+		assertEquals(true, graph.containsRoadConnection("Town_11", "Town_4"));
+		assertEquals("Town_11 via Road_13 to Town_4 1 mi", graph.getPath(town[11], "Town_4").get(0));
+		assertEquals(3, graph.getPath("Town_4", town[11]).size());
+		assertEquals(0, graph.getPath("Town_12", "Town_4").size());
+		assertEquals(1, graph.getPath("Town_4", "Town_12").size());
+	}
+
+	@Test
+	public void testGetPathSameTownAndUnreachable() {
+		TownGraphManager manager = (TownGraphManager) graph;
+		graph.addRoad("Town_12", "Town_13", 2, "Road_13");
+		for(RoutingAlgorithm algorithm : RoutingAlgorithm.values()) {
+			manager.setRoutingAlgorithm(algorithm);
+			manager.getPathCache().clear();
+			//a town is its own destination with no legs, not a placeholder leg
+			assertEquals(new ArrayList<String>(), graph.getPath(town[3], town[3]));
+			assertEquals(new ArrayList<String>(), graph.getPath(town[1], "Town_12"));
+			assertEquals(new ArrayList<String>(), graph.getPath("Town_13", town[11]));
+			assertEquals(1, graph.getPath("Town_12", "Town_13").size());
+		}
+		//a town without roads is answered without a search
+		graph.addTown("Town_14");
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		manager.setMetrics(metrics);
+		assertEquals(new ArrayList<String>(), graph.getPath(town[1], "Town_14"));
+		assertEquals(new ArrayList<String>(), graph.getPath("Town_14", "Town_14"));
+		assertEquals(0, metrics.getLatency().getCount());
+	}
+
+	@Test
+	public void testMetricsSameTown() {
+		TownGraphManager manager = (TownGraphManager) graph;
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		manager.setMetrics(metrics);
+		//both searches answer a query for the town itself without searching
+		for(RoutingAlgorithm algorithm : new RoutingAlgorithm[] {RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA, RoutingAlgorithm.CONTRACTION_HIERARCHY}) {
+			manager.setRoutingAlgorithm(algorithm);
+			manager.getPathCache().clear();
+			graph.getPath(town[1], town[10]);
+			metrics.reset();
+			//the counts of the query before it must not be reported again
+			assertEquals(0, graph.getPath(town[3], town[3]).size());
+			assertEquals(1, metrics.getLatency(algorithm).getCount());
+			assertEquals(0, metrics.getSettled(algorithm).getMax());
+			assertEquals(0, metrics.getRelaxed(algorithm).getMax());
+		}
+	}
+
+	@Test(timeout = 30000)
+	public void testPreprocessingRebuiltInBackground() throws Exception {
+		TownGraphManager manager = (TownGraphManager) graph;
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		manager.setMetrics(metrics);
+		manager.setRoutingAlgorithm(RoutingAlgorithm.CONTRACTION_HIERARCHY);
+		graph.getPath(town[1], town[10]);
+		assertEquals(1, metrics.getLatency(RoutingAlgorithm.CONTRACTION_HIERARCHY).getCount());
+		
+		WeightBatch batch = new WeightBatch();
+		batch.add(graph.getTown(town[8]), graph.getTown(town[10]), 20);
+		batch.add(graph.getTown(town[2]), graph.getTown(town[11]), 7);
+		assertEquals(2, graph.updateWeights(batch));
+		//the stale hierarchy is rebuilt in the background, queries meanwhile run as Dijkstra
+		ArrayList<String> path = graph.getPath(town[1], town[10]);
+		assertEquals("Town_5 via Road_10 to Town_10 5 mi", path.get(path.size() - 1));
+		assertEquals(2, metrics.getLatency().getCount());
+		while(metrics.getLatency(RoutingAlgorithm.CONTRACTION_HIERARCHY).getCount() < 2) {
+			Thread.sleep(10);
+			manager.getPathCache().clear();
+			assertEquals(path, graph.getPath(town[1], town[10]));
+		}
+	}
+
+	@Test
+	public void testMetrics() throws Exception {
+		TownGraphManager manager = (TownGraphManager) graph;
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		manager.setMetrics(metrics);
+		File file = File.createTempFile("roads", ".txt");
+		file.deleteOnExit();
+		PrintWriter out = new PrintWriter(file);
+		out.println("Road_13,7;Town_11;Town_12");
+		out.println("Road_14,1;Town_12;Town_13");
+		out.close();
+		graph.populateTownGraph(file);
+		assertEquals(1, metrics.getImportCount());
+		assertEquals(2, metrics.getImportedRoads());
+		assertEquals(file.length(), metrics.getImportedBytes());
+		assertTrue(metrics.getImportRoadsPerSecond() > 0);
+		ArrayList<String> expected = graph.getPath(town[1], town[10]);
+		metrics.reset();
+		for(RoutingAlgorithm algorithm : RoutingAlgorithm.values()) {
+			manager.setRoutingAlgorithm(algorithm);
+			assertEquals(expected, graph.getPath(town[1], town[10]));
+			assertEquals(1, metrics.getLatency(algorithm).getCount());
+			assertTrue(metrics.getSettled(algorithm).getMax() > 0);
+			assertTrue(metrics.getRelaxed(algorithm).getMax() > 0);
+		}
+		//a cached path is not a query
+		graph.getPath(town[1], town[10]);
+		assertEquals(RoutingAlgorithm.values().length, metrics.getLatency().getCount());
+		metrics.reset();
+		assertEquals(0, metrics.getLatency().getCount());
+		assertEquals(0, metrics.getImportCount());
+
+		LatencyHistogram histogram = new LatencyHistogram();
+		for(int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1000000, histogram.getMax());
+		assertEquals(500500, histogram.getMean(), 0.001);
+		assertEquals(500000, histogram.getValueAtPercentile(50), 500000 / 64);
+		assertEquals(990000, histogram.getValueAtPercentile(99), 990000 / 64);
+		assertEquals(1000000, histogram.getValueAtPercentile(100));
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void testSaveLoad() throws Exception {
+		File file = File.createTempFile("towns", ".graph");
+		file.deleteOnExit();
+		graph.addTown("Town_12");
+		graph.save(file.toPath());
+		TownGraphManagerInterface loaded = new TownGraphManager();
+		loaded.load(file.toPath());
+		assertEquals(graph.allTowns(), loaded.allTowns());
+		assertEquals(graph.allRoads(), loaded.allRoads());
+		assertEquals(graph.getPath(town[1], town[6]), loaded.getPath(town[1], town[6]));
+	}
+
+	@Test
+	public void testSaveLoadUnnamedRoad() throws Exception {
+		File file = File.createTempFile("towns", ".graph");
+		file.deleteOnExit();
+		Graph g = new Graph();
+		Town a = new Town("Town_A");
+		Town b = new Town("Town_B");
+		g.addVertex(a);
+		g.addVertex(b);
+		g.addEdge(a, b, 3, null);
+		GraphFile.save(g, file.toPath());
+		Graph loaded = GraphFile.load(file.toPath());
+		assertEquals(1, loaded.edgeSet().size());
+		Road road = loaded.edgeSet().iterator().next();
+		assertNull(road.getName());
+		assertEquals(3, road.getWeight());
+	}
+
+	@Test
+	public void testLoadCorruptGraphFile() throws Exception {
+		//a town count far beyond the bytes in the file
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = graphFileHeader(bytes);
+		GraphFile.writeVarint(out, 1 << 30);
+		assertCorrupt(bytes, "larger than the file");
+
+		bytes = new ByteArrayOutputStream();
+		out = graphFileHeader(bytes);
+		GraphFile.writeVarint(out, 2);
+		GraphFile.writeString(out, "Town_A");
+		out.writeByte(0);
+		GraphFile.writeString(out, "Town_A");
+		out.writeByte(0);
+		GraphFile.writeVarint(out, 0);
+		GraphFile.writeVarint(out, 0);
+		assertCorrupt(bytes, "duplicate town");
+
+		bytes = new ByteArrayOutputStream();
+		out = graphFileHeader(bytes);
+		GraphFile.writeVarint(out, 2);
+		GraphFile.writeString(out, "Town_A");
+		out.writeByte(0);
+		GraphFile.writeString(out, "Town_B");
+		out.writeByte(0);
+		GraphFile.writeVarint(out, 0);
+		GraphFile.writeVarint(out, 1);
+		GraphFile.writeVarint(out, 0);
+		GraphFile.writeVarint(out, 1);
+		//zigzag encoding of -3
+		GraphFile.writeVarint(out, 5);
+		GraphFile.writeVarint(out, 0);
+		assertCorrupt(bytes, "negative road weight");
+	}
+
+	//starts a graph file in bytes, returning the stream to write the rest with
+	private static DataOutputStream graphFileHeader(ByteArrayOutputStream bytes) throws IOException {
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(GraphFile.MAGIC);
+		out.writeInt(GraphFile.FORMAT_VERSION);
+		return out;
+	}
+
+	//checks that reading bytes fails with a message containing message
+	private static void assertCorrupt(ByteArrayOutputStream bytes, String message) {
+		try {
+			GraphFile.read(ByteBuffer.wrap(bytes.toByteArray()));
+			fail("corrupt graph file was read");
+		}
+		catch(IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains(message));
+		}
+	}
+
+	@Test
+	public void testSaveLoadLandmarks() throws Exception {
+		File graphFile = File.createTempFile("towns", ".graph");
+		File landmarkFile = File.createTempFile("towns", ".landmarks");
+		graphFile.deleteOnExit();
+		landmarkFile.deleteOnExit();
+		graph.save(graphFile.toPath());
+		graph.saveLandmarks(landmarkFile.toPath());
+		TownGraphManager loaded = new TownGraphManager();
+		loaded.load(graphFile.toPath());
+		loaded.loadLandmarks(landmarkFile.toPath());
+		loaded.setRoutingAlgorithm(RoutingAlgorithm.ALT);
+		assertEquals(graph.getPath(town[1], town[11]).size(), loaded.getPath(town[1], town[11]).size());
+		
+		loaded.addTown("Town_12");
+		try {
+			loaded.loadLandmarks(landmarkFile.toPath());
+			fail("landmarks of other towns were accepted");
+		}
+		catch(IOException e) {
+			assertEquals(true, e.getMessage().contains("does not match"));
+		}
+	}
+
+	@Test
+	public void testLoadLandmarksChangedRoads() throws Exception {
+		File landmarkFile = File.createTempFile("towns", ".landmarks");
+		landmarkFile.deleteOnExit();
+		graph.saveLandmarks(landmarkFile.toPath());
+		graph.loadLandmarks(landmarkFile.toPath());
+		
+		WeightBatch batch = new WeightBatch();
+		batch.add(graph.getTown(town[1]), graph.getTown(town[2]), 1);
+		assertEquals(1, graph.updateWeights(batch));
+		try {
+			graph.loadLandmarks(landmarkFile.toPath());
+			fail("landmarks of other weights were accepted");
+		}
+		catch(IOException e) {
+			assertEquals(true, e.getMessage().contains("weights"));
+		}
+		
+		graph.saveLandmarks(landmarkFile.toPath());
+		graph.addRoad(town[4], town[11], 5, "Road_13");
+		try {
+			graph.loadLandmarks(landmarkFile.toPath());
+			fail("landmarks of other roads were accepted");
+		}
+		catch(IOException e) {
+			assertEquals(true, e.getMessage().contains("roads"));
+		}
+	}
+
+	@Test
+	public void testGetPaths() {
+		graph.addTown("Town_12");
+		ArrayList<RouteRequest> requests = new ArrayList<RouteRequest>();
+		for(int i = 1; i < 12; i++) {
+			for(int j = 1; j < 12; j++) {
+				requests.add(new RouteRequest(town[i], town[j]));
+			}
+		}
+		requests.add(new RouteRequest(town[1], "Town_12"));
+		requests.add(new RouteRequest("Town_12", town[1]));
+		requests.add(new RouteRequest("Town_13", town[1]));
+		ArrayList<ArrayList<String>> expected = new ArrayList<ArrayList<String>>();
+		for(RouteRequest request : requests) {
+			expected.add(graph.getPath(request.getSource(), request.getDestination()));
+		}
+		((TownGraphManager) graph).setRoutingAlgorithm(RoutingAlgorithm.DIJKSTRA);
+		List<ArrayList<String>> paths = graph.getPaths(requests);
+		assertEquals(requests.size(), paths.size());
+		for(int i = 0; i < requests.size(); i++) {
+			assertEquals(expected.get(i), paths.get(i));
+		}
+		assertEquals(0, paths.get(requests.size() - 1).size());
+	}
+
+	@Test
+	public void testGetPathsCache() {
+		PathCache cache = ((TownGraphManager) graph).getPathCache();
+		ArrayList<RouteRequest> requests = new ArrayList<RouteRequest>();
+		requests.add(new RouteRequest(town[1], town[10]));
+		requests.add(new RouteRequest(town[1], town[11]));
+		requests.add(new RouteRequest(town[4], town[6]));
+		List<ArrayList<String>> paths = graph.getPaths(requests);
+		//paths from the shared search of Town_1 may break ties differently, so only the lone request is cached
+		assertEquals(1, cache.size());
+		long misses = cache.getMisses();
+		assertEquals(paths.get(0), graph.getPath(town[1], town[10]));
+		assertEquals(misses + 1, cache.getMisses());
+		assertEquals(paths.get(2), graph.getPath(town[4], town[6]));
+		assertEquals(misses + 1, cache.getMisses());
+	}
+
+	@Test
+	public void testGetPathsSingleRequests() {
+		TownGraphManager manager = (TownGraphManager) graph;
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		manager.setMetrics(metrics);
+		manager.setRoutingAlgorithm(RoutingAlgorithm.CONTRACTION_HIERARCHY);
+		ArrayList<RouteRequest> requests = new ArrayList<RouteRequest>();
+		for(int i = 1; i < 12; i++) {
+			requests.add(new RouteRequest(town[i], town[12 - i]));
+		}
+		List<ArrayList<String>> paths = graph.getPaths(requests);
+		assertEquals(requests.size(), metrics.getLatency(RoutingAlgorithm.CONTRACTION_HIERARCHY).getCount());
+		manager.setRoutingAlgorithm(RoutingAlgorithm.DIJKSTRA);
+		for(int i = 0; i < requests.size(); i++) {
+			RouteRequest request = requests.get(i);
+			assertEquals(graph.getPath(request.getSource(), request.getDestination()).size(), paths.get(i).size());
+		}
+	}
+
+	@Test
+	public void testConcurrentGetPath() throws Exception {
+		ArrayList<String> longWay = graph.getPath(town[1], town[11]);
+		ArrayList<String> shortcut = new ArrayList<String>();
+		shortcut.add("Town_1 via Road_13 to Town_11 1 mi");
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread[] readers = new Thread[4];
+		for(int t = 0; t < readers.length; t++) {
+			readers[t] = new Thread(() -> {
+				try {
+					for(int i = 0; i < 2000; i++) {
+						ArrayList<String> path = graph.getPath(town[1], town[11]);
+						if(!path.equals(longWay) && !path.equals(shortcut))
+							throw new AssertionError("torn path " + path);
+					}
+				}
+				catch(Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			});
+			readers[t].start();
+		}
+		for(int i = 0; i < 200; i++) {
+			graph.addRoad(town[1], town[11], 1, "Road_13");
+			graph.deleteRoadConnection(town[1], town[11], "Road_13");
+		}
+		for(Thread reader : readers) {
+			reader.join();
+		}
+		assertEquals(null, failure.get());
+		assertEquals(longWay, graph.getPath(town[1], town[11]));
+	}
+
+	@Test
+	public void testConcurrentSave() throws Exception {
+		File file = File.createTempFile("towns", ".graph");
+		file.deleteOnExit();
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread writer = new Thread(() -> {
+			try {
+				for(int i = 0; i < 2000; i++) {
+					graph.addRoad("Town_" + (12 + i), town[1], 1, "Road_" + (13 + i));
+				}
+			}
+			catch(Throwable e) {
+				failure.compareAndSet(null, e);
+			}
+		});
+		writer.start();
+		while(writer.isAlive()) {
+			graph.save(file.toPath());
+			TownGraphManagerInterface loaded = new TownGraphManager();
+			loaded.load(file.toPath());
+			assertEquals(loaded.allTowns().size() + 1, loaded.allRoads().size());
+		}
+		writer.join();
+		assertEquals(null, failure.get());
+	}
+
+	@Test
+	public void testPathCache() {
+		PathCache cache = ((TownGraphManager) graph).getPathCache();
+		ArrayList<String> first = graph.getPath(town[1], town[10]);
+		assertEquals(first, graph.getPath(town[1], town[10]));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		
+		graph.addRoad(town[1], town[10], 1, "Road_13");
+		ArrayList<String> path = graph.getPath(town[1], town[10]);
+		assertEquals(1, path.size());
+		assertEquals("Town_1 via Road_13 to Town_10 1 mi", path.get(0));
+		assertEquals(1, cache.getInvalidations());
+	}
+
+	@Test
+	public void testPathCacheSegments() throws Exception {
+		PathCache cache = new PathCache(20);
+		ArrayList<String> path = new ArrayList<String>();
+		path.add("Town_1 via Road_1 to Town_2 2 mi");
+		Thread[] threads = new Thread[4];
+		for(int t = 0; t < threads.length; t++) {
+			int offset = t;
+			threads[t] = new Thread(() -> {
+				for(int i = 0; i < 500; i++) {
+					String source = "Town_" + (offset * 500 + i);
+					cache.put(source, "Town_0", 1, path);
+					ArrayList<String> cached = cache.get(source, "Town_0", 1);
+					if(cached != null)
+						cached.clear();
+				}
+			});
+			threads[t].start();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		//the segments share the capacity, so the cache never holds more than it
+		assertTrue(cache.size() <= 20);
+		assertEquals(2000 - cache.size(), cache.getEvictions());
+		
+		cache.put("Town_1", "Town_2", 1, path);
+		path.clear();
+		assertEquals(1, cache.get("Town_1", "Town_2", 1).size());
+		//a query on an older version neither reads nor writes
+		assertEquals(null, cache.get("Town_1", "Town_2", 0));
+		cache.put("Town_3", "Town_4", 0, path);
+		assertEquals(null, cache.get("Town_3", "Town_4", 1));
+		assertEquals(null, cache.get("Town_1", "Town_2", 2));
+		assertEquals(0, cache.size());
+		assertEquals(1, cache.getInvalidations());
+	}
+
+	@Test
+	public void testAStarWithCoordinates() throws Exception {
+		File file = File.createTempFile("roads", ".txt");
+		file.deleteOnExit();
+		PrintWriter out = new PrintWriter(file);
+		out.println("North,5;A;B;0:0;3:4");
+		out.println("East,8;B;C;;6:8");
+		out.println("Long way,20;A;C");
+		out.close();
+		TownGraphManager manager = new TownGraphManager();
+		manager.populateTownGraph(file);
+		assertEquals(true, manager.getTown("A") != null);
+		manager.setRoutingAlgorithm(RoutingAlgorithm.A_STAR);
+		manager.setHeuristic(Heuristic.euclidean(1.0));
+		ArrayList<String> path = manager.getPath("A", "C");
+		assertEquals("A via North to B 5 mi", path.get(0));
+		assertEquals("B via East to C 8 mi", path.get(1));
+	}
+
+}